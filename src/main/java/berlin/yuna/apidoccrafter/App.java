@@ -1,7 +1,15 @@
 package berlin.yuna.apidoccrafter;
 
+import berlin.yuna.apidoccrafter.logic.ApiSniffer;
+import berlin.yuna.apidoccrafter.logic.ComponentIndex;
+import berlin.yuna.apidoccrafter.logic.ExternalRefCache;
+import berlin.yuna.apidoccrafter.logic.ComponentPruner;
+import berlin.yuna.apidoccrafter.logic.HeapGovernor;
 import berlin.yuna.apidoccrafter.logic.HtmlGenerator;
+import berlin.yuna.apidoccrafter.logic.ParseCache;
 import berlin.yuna.apidoccrafter.logic.Processor;
+import berlin.yuna.apidoccrafter.logic.SchemaDeduplicator;
+import berlin.yuna.apidoccrafter.logic.StrategyStats;
 import io.swagger.v3.oas.models.OpenAPI;
 
 import java.io.FileWriter;
@@ -11,8 +19,10 @@ import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Stream;
 
+import static berlin.yuna.apidoccrafter.config.Config.DEDUPLICATE_SCHEMAS;
 import static berlin.yuna.apidoccrafter.config.Config.ENABLE_OBJECT_MAPPER;
 import static berlin.yuna.apidoccrafter.config.Config.FILE_DOWNLOAD;
 import static berlin.yuna.apidoccrafter.config.Config.FILE_EXCLUDES;
@@ -21,11 +31,18 @@ import static berlin.yuna.apidoccrafter.config.Config.GROUP_SERVERS;
 import static berlin.yuna.apidoccrafter.config.Config.GROUP_TAGS;
 import static berlin.yuna.apidoccrafter.config.Config.MAX_DEEP;
 import static berlin.yuna.apidoccrafter.config.Config.OUTPUT_DIR;
+import static berlin.yuna.apidoccrafter.config.Config.PARSER_REPORT;
+import static berlin.yuna.apidoccrafter.config.Config.PRUNE_COMPONENTS;
+import static berlin.yuna.apidoccrafter.config.Config.RESOLVE_COMPONENTS;
 import static berlin.yuna.apidoccrafter.config.Config.WORK_DIR;
 import static berlin.yuna.apidoccrafter.config.Config.config;
-import static berlin.yuna.apidoccrafter.config.Config.getEncoding;
+import static berlin.yuna.apidoccrafter.config.Config.getCacheDir;
+import static berlin.yuna.apidoccrafter.config.Config.getCacheMaxBytes;
 import static berlin.yuna.apidoccrafter.config.Config.getFileDownloadHeaders;
+import static berlin.yuna.apidoccrafter.config.Config.getRefCacheMaxBytes;
 import static berlin.yuna.apidoccrafter.config.Config.readConfigs;
+import static berlin.yuna.apidoccrafter.config.Config.refreshSettings;
+import static berlin.yuna.apidoccrafter.config.Config.settings;
 import static berlin.yuna.apidoccrafter.logic.Processor.groupFiles;
 import static berlin.yuna.apidoccrafter.logic.Processor.mergeApis;
 import static berlin.yuna.apidoccrafter.logic.Processor.readOpenApiFiles;
@@ -48,6 +65,7 @@ public class App {
 
     public static void main(final String[] args) {
         config().putAll(readConfigs()); // can't be done in static block because native executable will freeze it
+        refreshSettings();
         final Path inputDir = parseWorkDir(config().asString(WORK_DIR));
         final Path outputDir = parseOutputDir(config().asString(OUTPUT_DIR), inputDir);
         final String fileIncludes = config().asString(FILE_INCLUDES);
@@ -60,21 +78,50 @@ public class App {
         downloadRemoteOpenApiFiles(inputDir, maxDeep);
 
         final Map<Path, OpenAPI> fileMap = readOpenApiFiles(inputDir, enableObjectMapper, maxDeep, fileIncludes, fileExcludes);
-        System.out.println("[INFO] Files [" + fileMap.size() + "] to process" + (enableObjectMapper? " (ObjectMapper enabled)" : ""));
+        System.out.println("[INFO] Files [" + fileMap.size() + "] to process" + (enableObjectMapper? " (ObjectMapper enabled)" : "") + (ApiSniffer.skipped() > 0 ? " skipped [" + ApiSniffer.skipped() + "] non OpenAPI files" : ""));
+
+        if (ExternalRefCache.hits() + ExternalRefCache.misses() > 0)
+            System.out.println("[INFO] External ref cache"
+                + " hits [" + ExternalRefCache.hits() + "]"
+                + " misses [" + ExternalRefCache.misses() + "]"
+                + " evicted [" + ExternalRefCache.evicted() + "]"
+                + " documents [" + ExternalRefCache.documents() + "]"
+                + " size [" + (ExternalRefCache.size() + 1023) / 1024 + "KB/" + getRefCacheMaxBytes() / 1024 / 1024 + "MB]");
+        if (config().asBooleanOpt(PARSER_REPORT).orElse(false))
+            StrategyStats.writeReport(outputDir);
+        if (!Processor.timedOutFiles().isEmpty())
+            System.err.println("[WARN] Files [" + Processor.timedOutFiles().size() + "] timed out " + Processor.timedOutFiles());
 
         // Group files
         final List<Map<Path, OpenAPI>> groupedApis = groupFiles(fileMap, tagGroups, serverGroups);
 
+        // Index components before merging, merged files can reference components of other files
+        final ComponentIndex componentIndex = config().asBooleanOpt(RESOLVE_COMPONENTS).orElse(false) ? ComponentIndex.of(fileMap.values()) : null;
+
         // Merge and filter files
         final Map<Path, OpenAPI> mergedApis = mergeApis(groupedApis);
+        if (componentIndex != null)
+            mergedApis.forEach((path, openAPI) -> resolveComponents(componentIndex, path, openAPI));
         mergedApis.forEach((path, openAPI) -> Processor.enrichOpenAPI(openAPI));
+        if (config().asBooleanOpt(DEDUPLICATE_SCHEMAS).orElse(false))
+            mergedApis.forEach(App::deduplicateSchemas);
+        if (config().asBooleanOpt(PRUNE_COMPONENTS).orElse(false))
+            mergedApis.forEach(App::pruneComponents);
+        if (HeapGovernor.throttled() > 0)
+            System.out.println("[INFO] Heap governor throttled [" + HeapGovernor.throttled() + "] tasks budget [" + HeapGovernor.budget() / 1024 / 1024 + "MB] peak [" + HeapGovernor.peak() / 1024 / 1024 + "MB]");
 
         // Save files
         mergedApis.forEach((path, openAPI) -> saveYaml(openAPI, outputDir.resolve(filenameYaml(path, openAPI))));
         mergedApis.forEach((path, openAPI) -> saveJson(openAPI, outputDir.resolve(filenameJson(path, openAPI))));
 
-        // TODO: find non resolvable components in other API files and merge these references
         HtmlGenerator.generateHtml(sortByString(mergedApis, pathOpenAPIEntry -> displayName(pathOpenAPIEntry.getKey(), pathOpenAPIEntry.getValue())), outputDir);
+
+        ofNullable(getCacheDir()).ifPresent(cacheDir -> System.out.println("[INFO] Cache"
+            + " hits [" + ParseCache.hits() + "]"
+            + " misses [" + ParseCache.misses() + "]"
+            + " evicted [" + ParseCache.evict(cacheDir, getCacheMaxBytes()) + "]"
+            + " dir [" + cacheDir + "]"
+        ));
     }
 
     private static void downloadRemoteOpenApiFiles(final Path inputDir, final int maxDeep) {
@@ -95,7 +142,7 @@ public class App {
                 .filter(file -> file.getFileName().toString().equals("api-doc-links.txt"))
                 .map(file -> {
                     try {
-                        return Files.readAllLines(file, getEncoding());
+                        return Files.readAllLines(file, settings().encoding());
                     } catch (IOException e) {
                         System.err.println("[ERROR] Failed to read [" + file + "] cause [" + e.getClass().getSimpleName() + "] message [" + e.getMessage() + "]");
                         return null;
@@ -133,6 +180,24 @@ public class App {
         return result;
     }
 
+    private static void resolveComponents(final ComponentIndex componentIndex, final Path path, final OpenAPI openAPI) {
+        final Set<String> resolved = componentIndex.resolve(openAPI);
+        if (!resolved.isEmpty())
+            System.out.println("[INFO] Resolved components [" + resolved.size() + "] from other files api [" + displayName(path, openAPI) + "] " + resolved);
+    }
+
+    private static void deduplicateSchemas(final Path path, final OpenAPI openAPI) {
+        final Map<String, String> duplicates = SchemaDeduplicator.deduplicate(openAPI);
+        if (!duplicates.isEmpty())
+            System.out.println("[INFO] Deduplicated schemas [" + duplicates.size() + "] api [" + displayName(path, openAPI) + "] " + duplicates);
+    }
+
+    private static void pruneComponents(final Path path, final OpenAPI openAPI) {
+        final ComponentPruner.Result result = ComponentPruner.prune(openAPI);
+        if (result.removed() > 0)
+            System.out.println("[INFO] Pruned components [" + result.removed() + "] saved [" + (result.bytes() + 1023) / 1024 + "KB] api [" + displayName(path, openAPI) + "]");
+    }
+
     private static void saveYaml(final OpenAPI mergedApi, final Path outputPath) {
         try (FileWriter writer = new FileWriter(outputPath.toFile())) {
             writer.write(replaceVariables(safeYamlMapper.writerWithDefaultPrettyPrinter().writeValueAsString(mergedApi)));
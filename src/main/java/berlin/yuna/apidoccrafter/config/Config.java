@@ -5,6 +5,7 @@ import berlin.yuna.typemap.model.TypeMap;
 
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -59,6 +60,16 @@ public class Config {
     public static final String SORT_REQUESTS = CONFIG_PREFIX + "sort_requests";
     public static final String SORT_CONTENT = CONFIG_PREFIX + "sort_content";
     public static final String SORT_ENCODING = CONFIG_PREFIX + "sort_encoding";
+    // sorts once after all files of a group are merged instead of after every merge step, the order can differ from eager sorting
+    public static final String SORT_DEFERRED = CONFIG_PREFIX + "sort_deferred";
+    // applies the remove patterns once per file before merging instead of on every merge step
+    public static final String PRUNE_BEFORE_MERGE = CONFIG_PREFIX + "prune_before_merge";
+    // copies components which are referenced but defined only in other files after merging
+    public static final String RESOLVE_COMPONENTS = CONFIG_PREFIX + "resolve_components";
+    // collapses structurally identical component schemas after merging and rewrites their refs
+    public static final String DEDUPLICATE_SCHEMAS = CONFIG_PREFIX + "deduplicate_schemas";
+    // drops components which are not referenced from paths, webhooks or security requirements after merging
+    public static final String PRUNE_COMPONENTS = CONFIG_PREFIX + "prune_components";
     public static final String ENABLE_CUSTOM_INFO = CONFIG_PREFIX + "enable_custom_info";
 
     public static final String ENCODING = CONFIG_PREFIX + "encoding";
@@ -77,6 +88,46 @@ public class Config {
     public static final String WORK_DIR = CONFIG_PREFIX + "work_dir";
     public static final String MAX_DEEP = CONFIG_PREFIX + "max_deep";
     public static final String ENABLE_OBJECT_MAPPER = CONFIG_PREFIX + "enable_object_mapper";
+    // strict = run all parsers and keep the largest result, cascade = accept the first complete result
+    public static final String PARSE_MODE = CONFIG_PREFIX + "parse_mode";
+    // sections a cascade result needs to be accepted [info, paths, components, schemas, tags, servers, security, webhooks] separated by "::" or "|" or ","
+    public static final String PARSE_REQUIRE = CONFIG_PREFIX + "parse_require";
+    // [cascade] static = fixed strategy order, adaptive = strategies which won most often for the same format and spec version first
+    public static final String PARSE_ORDER = CONFIG_PREFIX + "parse_order";
+    // writes the parser strategy telemetry to the output dir
+    public static final String PARSER_REPORT = CONFIG_PREFIX + "parser_report";
+    // skip files without a top level openapi/swagger key before parsing
+    public static final String SNIFF_FILES = CONFIG_PREFIX + "sniff_files";
+    // virtual = one virtual thread per file, pool = fixed thread pool with parse_threads threads
+    public static final String PARSE_EXECUTOR = CONFIG_PREFIX + "parse_executor";
+    // maximum number of files parsed at the same time. null/empty = available processors
+    public static final String PARSE_THREADS = CONFIG_PREFIX + "parse_threads";
+    // time budget in seconds to parse a single file, abandoned files are reported as timed out. null/empty = unlimited
+    public static final String PARSE_TIMEOUT = CONFIG_PREFIX + "parse_timeout";
+    // time budget in seconds of a single parser strategy, abandoned strategies are skipped. null/empty = unlimited
+    public static final String STRATEGY_TIMEOUT = CONFIG_PREFIX + "strategy_timeout";
+    // directory of the persistent parse cache. null/empty = disabled
+    public static final String CACHE_DIR = CONFIG_PREFIX + "cache_dir";
+    // maximum size of the parse cache in MB, least recently used entries are evicted
+    public static final String CACHE_MAX_SIZE = CONFIG_PREFIX + "cache_max_size";
+    // resolves external $refs of parsed files once per file with a document cache shared by all files
+    public static final String RESOLVE_EXT_REFS = CONFIG_PREFIX + "resolve_ext_refs";
+    // maximum size of the external $ref document cache in MB, least recently used documents are evicted
+    public static final String REF_CACHE_MAX_SIZE = CONFIG_PREFIX + "ref_cache_max_size";
+    // fraction of the max heap which parse and merge tasks may use at the same time, further tasks wait
+    public static final String HEAP_FRACTION = CONFIG_PREFIX + "heap_fraction";
+    // estimated heap usage of a parse or merge task as multiple of its input file size
+    public static final String HEAP_INFLATION = CONFIG_PREFIX + "heap_inflation";
+    // maximum number of groups merged at the same time, 1 = sequential. null/empty = available processors
+    public static final String MERGE_THREADS = CONFIG_PREFIX + "merge_threads";
+    // groups with at least this number of files are merged as parallel tree reduction. null/empty = sequential
+    public static final String MERGE_TREE_THRESHOLD = CONFIG_PREFIX + "merge_tree_threshold";
+    public static final String PARSE_MODE_STRICT = "strict";
+    public static final String PARSE_MODE_CASCADE = "cascade";
+    public static final String PARSE_ORDER_STATIC = "static";
+    public static final String PARSE_ORDER_ADAPTIVE = "adaptive";
+    public static final String PARSE_EXECUTOR_VIRTUAL = "virtual";
+    public static final String PARSE_EXECUTOR_POOL = "pool";
     // Swagger configs
     public static final String LOCAL_PATTERN = "local";
     public static final String STATIC_SWAGGER_STANDALONE_JS = "https://unpkg.com/swagger-ui-dist@5.11.0/swagger-ui-standalone-preset.js";
@@ -86,16 +137,48 @@ public class Config {
     public static final String STATIC_SWAGGER_CSS = "https://unpkg.com/swagger-ui-dist@5.11.0/swagger-ui.css";
     private static final TypeMap CONFIG_ITEMS = new TypeMap();
 
+    private static volatile Settings settings;
+
     public static Boolean sortBy(final String key) {
-        return CONFIG_ITEMS.asStringOpt(key).map(String::toLowerCase).filter(cfg -> ("none".equals(cfg) || "null".equals(cfg))).isPresent() ? null : CONFIG_ITEMS.asBooleanOpt(key).orElse(true);
+        return sortBy(CONFIG_ITEMS, key);
     }
 
     public static String getRemovePattern() {
-        return CONFIG_ITEMS.asStringOpt(REMOVE_PATTERNS).map(String::trim).map(String::toLowerCase).orElse(null);
+        return removePattern(CONFIG_ITEMS);
     }
 
     public static Charset getEncoding() {
-        return CONFIG_ITEMS.asStringOpt(ENCODING).map(String::trim).map(String::toUpperCase).map(encoding -> {
+        return encoding(CONFIG_ITEMS);
+    }
+
+    /**
+     * @return The settings snapshot of the current configuration, built on first access.
+     */
+    public static Settings settings() {
+        final Settings result = settings;
+        return result != null ? result : refreshSettings();
+    }
+
+    /**
+     * Rebuilds the settings snapshot, needs to be called after the configuration changed.
+     *
+     * @return The new settings snapshot.
+     */
+    public static Settings refreshSettings() {
+        settings = Settings.of(CONFIG_ITEMS);
+        return settings;
+    }
+
+    static Boolean sortBy(final TypeMap config, final String key) {
+        return config.asStringOpt(key).map(String::toLowerCase).filter(cfg -> ("none".equals(cfg) || "null".equals(cfg))).isPresent() ? null : config.asBooleanOpt(key).orElse(true);
+    }
+
+    static String removePattern(final TypeMap config) {
+        return config.asStringOpt(REMOVE_PATTERNS).map(String::trim).map(String::toLowerCase).orElse(null);
+    }
+
+    static Charset encoding(final TypeMap config) {
+        return config.asStringOpt(ENCODING).map(String::trim).map(String::toUpperCase).map(encoding -> {
             try {
                 return Charset.forName(encoding);
             } catch (Exception ignored) {
@@ -104,6 +187,18 @@ public class Config {
         }).orElse(StandardCharsets.UTF_8);
     }
 
+    public static Path getCacheDir() {
+        return CONFIG_ITEMS.asStringOpt(CACHE_DIR).filter(ArgsDecoder::hasText).map(String::trim).map(Path::of).orElse(null);
+    }
+
+    public static long getCacheMaxBytes() {
+        return CONFIG_ITEMS.asLongOpt(CACHE_MAX_SIZE).filter(size -> size > 0).orElse(512L) * 1024 * 1024;
+    }
+
+    public static long getRefCacheMaxBytes() {
+        return CONFIG_ITEMS.asLongOpt(REF_CACHE_MAX_SIZE).filter(size -> size > 0).orElse(64L) * 1024 * 1024;
+    }
+
     public static Map<String, String> getFileDownloadHeaders() {
         return CONFIG_ITEMS.asStringOpt(FILE_DOWNLOAD_HEADER)
             .map(headersStr -> Arrays.stream(headersStr.split("\\|\\|"))
@@ -27,6 +27,7 @@ import io.swagger.v3.oas.models.tags.Tag;
 import java.time.OffsetDateTime;
 import java.util.*;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static java.util.Arrays.stream;
@@ -55,6 +56,20 @@ import static java.util.Optional.ofNullable;
 public class Identifier {
 
     public static final Map<Class<?>, Function<Object, String[]>> ID_MAP;
+    // resolves the identifier extractor once per concrete class, classes without registered identifiers resolve to NO_KEYS
+    private static final Function<Object, String[]> NO_KEYS = item -> null;
+    // identifier keys per object of the running merge session, keys of OAuthFlows and Link depend on nested objects and are not cached
+    private static final ThreadLocal<Map<Object, String[]>> SESSION = new ThreadLocal<>();
+    private static final ClassValue<Function<Object, String[]>> EXTRACTORS = new ClassValue<>() {
+        @Override
+        protected Function<Object, String[]> computeValue(final Class<?> type) {
+            return ID_MAP.entrySet().stream()
+                .filter(item -> item.getKey().isAssignableFrom(type))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(NO_KEYS);
+        }
+    };
 
     static {
         final Map<Class<?>, Function<Object, String[]>> result = new HashMap<>();
@@ -132,9 +147,19 @@ public class Identifier {
      * @return A negative number, zero, or a positive number as the first key is less than, equal to, or greater than the second.
      */
     public static int compareKeys(final Object key1, final Object key2) {
-        final String[] keys1 = getKeys(key1);
-        final String[] keys2 = getKeys(key2);
+        return compareKeys(key1, getKeys(key1), key2, getKeys(key2));
+    }
 
+    /**
+     * Compares keys using their precomputed identifiers.
+     *
+     * @param key1  The first key to compare.
+     * @param keys1 The identifiers of the first key, see {@link #getKeys(Object)}.
+     * @param key2  The second key to compare.
+     * @param keys2 The identifiers of the second key, see {@link #getKeys(Object)}.
+     * @return A negative number, zero, or a positive number as the first key is less than, equal to, or greater than the second.
+     */
+    public static int compareKeys(final Object key1, final String[] keys1, final Object key2, final String[] keys2) {
         if (keys1 == null || keys2 == null)
             return key1.equals(key2) ? 0 : Integer.compare(key1.hashCode(), key2.hashCode());
 
@@ -161,11 +186,49 @@ public class Identifier {
      * @return An array of identifier strings for the object.
      */
     public static String[] getKeys(final Object key) {
-        return ofNullable(key).flatMap(object -> ID_MAP.entrySet()
-                .stream()
-                .filter(item -> item.getKey().isInstance(object))
-                .map(Map.Entry::getValue).findFirst())
-            .map(result -> result.apply(key)).orElse(null);
+        if (key == null)
+            return null;
+        final Map<Object, String[]> session = SESSION.get();
+        if (session == null || key instanceof OAuthFlows || key instanceof Link)
+            return EXTRACTORS.get(key.getClass()).apply(key);
+        final String[] cached = session.get(key);
+        if (cached != null)
+            return cached;
+        final String[] result = EXTRACTORS.get(key.getClass()).apply(key);
+        if (result != null)
+            session.put(key, result);
+        return result;
+    }
+
+    /**
+     * Runs a task within a merge session, which computes the identifier keys of each object only once.
+     * Objects which are modified during the session must be reported with {@link #forget(Object)}.
+     * Nested calls join the running session.
+     *
+     * @param task The task to run.
+     * @param <T>  The result type.
+     * @return The task result.
+     */
+    public static <T> T session(final Supplier<T> task) {
+        if (SESSION.get() != null)
+            return task.get();
+        SESSION.set(new IdentityHashMap<>());
+        try {
+            return task.get();
+        } finally {
+            SESSION.remove();
+        }
+    }
+
+    /**
+     * Drops the cached identifier keys of a modified object from the running merge session.
+     *
+     * @param item The modified object.
+     */
+    public static void forget(final Object item) {
+        final Map<Object, String[]> session = SESSION.get();
+        if (session != null && item != null)
+            session.remove(item);
     }
 
     /**
@@ -0,0 +1,59 @@
+package berlin.yuna.apidoccrafter.config;
+
+import berlin.yuna.apidoccrafter.util.GlobMatcher;
+import berlin.yuna.typemap.model.TypeMap;
+
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static berlin.yuna.apidoccrafter.config.Config.*;
+
+/**
+ * Immutable, pre-parsed snapshot of the settings which are read on hot paths like merging, sorting and writing files.
+ * {@link Config#settings()} returns the snapshot of the current configuration, {@link Config#refreshSettings()} rebuilds it after the configuration changed.
+ *
+ * @param sort             The sort order per sort key: true = ascending, false = descending, null = unsorted. See {@link Config#sortBy(String)}.
+ * @param sortDeferred     true if merged values are sorted once after merging, see {@link Config#SORT_DEFERRED}.
+ * @param pruneBeforeMerge true if the remove patterns are applied once per file before merging, see {@link Config#PRUNE_BEFORE_MERGE}.
+ * @param removePattern    The trimmed lower case {@code remove_patterns}, null if not configured.
+ * @param removeGlob       The compiled {@code remove_patterns}, matches nothing if not configured.
+ * @param encoding         The file encoding.
+ */
+public record Settings(Map<String, Boolean> sort, boolean sortDeferred, boolean pruneBeforeMerge, String removePattern, GlobMatcher removeGlob, Charset encoding) {
+
+    private static final List<String> SORT_KEYS = List.of(
+        SORT_EXTENSIONS, SORT_SERVERS, SORT_SECURITY, SORT_TAGS, SORT_PATHS, SORT_SCHEMAS, SORT_PARAMETERS, SORT_RESPONSES,
+        SORT_EXAMPLES, SORT_WEBHOOKS, SORT_HEADERS, SORT_SCOPES, SORT_REQUESTS, SORT_CONTENT, SORT_ENCODING, SWAGGER_LINKS
+    );
+
+    /**
+     * Parses the settings of a configuration.
+     *
+     * @param config The configuration.
+     * @return The settings snapshot.
+     */
+    public static Settings of(final TypeMap config) {
+        final Map<String, Boolean> sort = new HashMap<>();
+        SORT_KEYS.forEach(key -> sort.put(key, Config.sortBy(config, key)));
+        final String removePattern = Config.removePattern(config);
+        return new Settings(
+            Collections.unmodifiableMap(sort),
+            config.asBooleanOpt(SORT_DEFERRED).orElse(false),
+            config.asBooleanOpt(PRUNE_BEFORE_MERGE).orElse(false),
+            removePattern,
+            GlobMatcher.of(removePattern == null ? "" : removePattern),
+            Config.encoding(config)
+        );
+    }
+
+    /**
+     * @param key The sort key.
+     * @return The sort order: true = ascending, false = descending, null = unsorted.
+     */
+    public Boolean sortBy(final String key) {
+        return sort.containsKey(key) ? sort.get(key) : Config.sortBy(key);
+    }
+}
@@ -0,0 +1,193 @@
+package berlin.yuna.apidoccrafter.logic;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.headers.Header;
+import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Computes a cheap structural quality score for a parsed {@link OpenAPI}.
+ * Walks the model once and counts its elements (paths, operations, parameters, responses, media types, schemas, properties, ...).
+ * Used by {@link Processor} to compare the results of different parser strategies without serializing them.
+ * <p>Suppressions</p>
+ * <ul>
+ *     <li>rawtypes = swagger models use raw schema types</li>
+ * </ul>
+ */
+@SuppressWarnings("rawtypes")
+public class ApiScore {
+
+    private final Set<Schema> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Computes the structural score of an OpenAPI.
+     *
+     * @param api The OpenAPI to score.
+     * @return The number of elements found, 0 for null or empty OpenAPI objects.
+     */
+    public static int score(final OpenAPI api) {
+        return api == null ? 0 : new ApiScore().openApi(api);
+    }
+
+    private int openApi(final OpenAPI api) {
+        int result = info(api.getInfo())
+            + size(api.getServers())
+            + size(api.getTags())
+            + size(api.getSecurity())
+            + size(api.getExtensions())
+            + (api.getExternalDocs() == null ? 0 : 1)
+            + components(api.getComponents());
+        if (api.getPaths() != null)
+            result += api.getPaths().values().stream().mapToInt(this::pathItem).sum();
+        if (api.getWebhooks() != null)
+            result += api.getWebhooks().values().stream().mapToInt(this::pathItem).sum();
+        return result;
+    }
+
+    private int info(final Info info) {
+        return info == null ? 0 : 1 + count(info.getTitle()) + count(info.getVersion()) + count(info.getDescription()) + count(info.getSummary()) + (info.getContact() == null ? 0 : 1) + (info.getLicense() == null ? 0 : 1);
+    }
+
+    private int components(final Components components) {
+        if (components == null)
+            return 0;
+        int result = 1
+            + size(components.getExamples())
+            + size(components.getSecuritySchemes())
+            + size(components.getLinks())
+            + size(components.getCallbacks())
+            + size(components.getExtensions());
+        if (components.getSchemas() != null)
+            result += components.getSchemas().values().stream().mapToInt(this::schema).sum();
+        if (components.getResponses() != null)
+            result += components.getResponses().values().stream().mapToInt(this::response).sum();
+        if (components.getParameters() != null)
+            result += components.getParameters().values().stream().mapToInt(this::parameter).sum();
+        if (components.getRequestBodies() != null)
+            result += components.getRequestBodies().values().stream().mapToInt(this::requestBody).sum();
+        if (components.getHeaders() != null)
+            result += components.getHeaders().values().stream().mapToInt(this::header).sum();
+        if (components.getPathItems() != null)
+            result += components.getPathItems().values().stream().mapToInt(this::pathItem).sum();
+        return result;
+    }
+
+    private int pathItem(final PathItem pathItem) {
+        if (pathItem == null)
+            return 0;
+        int result = 1 + count(pathItem.get$ref()) + size(pathItem.getServers()) + size(pathItem.getExtensions());
+        if (pathItem.getParameters() != null)
+            result += pathItem.getParameters().stream().mapToInt(this::parameter).sum();
+        return result + pathItem.readOperations().stream().mapToInt(this::operation).sum();
+    }
+
+    private int operation(final Operation operation) {
+        if (operation == null)
+            return 0;
+        int result = 1
+            + count(operation.getOperationId())
+            + count(operation.getSummary())
+            + count(operation.getDescription())
+            + size(operation.getTags())
+            + size(operation.getSecurity())
+            + size(operation.getServers())
+            + size(operation.getCallbacks())
+            + size(operation.getExtensions())
+            + requestBody(operation.getRequestBody());
+        if (operation.getParameters() != null)
+            result += operation.getParameters().stream().mapToInt(this::parameter).sum();
+        if (operation.getResponses() != null)
+            result += operation.getResponses().values().stream().mapToInt(this::response).sum();
+        return result;
+    }
+
+    private int parameter(final Parameter parameter) {
+        return parameter == null ? 0 : 1 + count(parameter.get$ref()) + count(parameter.getDescription()) + size(parameter.getExamples()) + schema(parameter.getSchema()) + content(parameter.getContent());
+    }
+
+    private int requestBody(final RequestBody requestBody) {
+        return requestBody == null ? 0 : 1 + count(requestBody.get$ref()) + count(requestBody.getDescription()) + content(requestBody.getContent());
+    }
+
+    private int response(final ApiResponse response) {
+        if (response == null)
+            return 0;
+        int result = 1 + count(response.get$ref()) + count(response.getDescription()) + size(response.getLinks()) + content(response.getContent());
+        if (response.getHeaders() != null)
+            result += response.getHeaders().values().stream().mapToInt(this::header).sum();
+        return result;
+    }
+
+    private int header(final Header header) {
+        return header == null ? 0 : 1 + count(header.get$ref()) + count(header.getDescription()) + schema(header.getSchema()) + content(header.getContent());
+    }
+
+    private int content(final Content content) {
+        return content == null ? 0 : content.values().stream().mapToInt(this::mediaType).sum();
+    }
+
+    private int mediaType(final MediaType mediaType) {
+        return mediaType == null ? 0 : 1 + size(mediaType.getExamples()) + size(mediaType.getEncoding()) + (mediaType.getExample() == null ? 0 : 1) + schema(mediaType.getSchema());
+    }
+
+    private int schema(final Schema schema) {
+        if (schema == null || !visited.add(schema))
+            return 0;
+        int result = 1
+            + count(schema.get$ref())
+            + count(schema.getType())
+            + count(schema.getFormat())
+            + count(schema.getDescription())
+            + size(schema.getRequired())
+            + size(schema.getEnum())
+            + size(schema.getExtensions())
+            + (schema.getExample() == null ? 0 : 1)
+            + schema(schema.getItems())
+            + schema(schema.getNot())
+            + schemas(schema.getAllOf())
+            + schemas(schema.getAnyOf())
+            + schemas(schema.getOneOf())
+            + schemas(schema.getPrefixItems());
+        if (schema.getProperties() != null)
+            result += schemas(schema.getProperties().values());
+        if (schema.getPatternProperties() != null)
+            result += schemas(schema.getPatternProperties().values());
+        if (schema.getAdditionalProperties() instanceof final Schema additional)
+            result += schema(additional);
+        return result;
+    }
+
+    private int schemas(final Collection<Schema> schemas) {
+        return schemas == null ? 0 : schemas.stream().mapToInt(this::schema).sum();
+    }
+
+    private static int count(final Object value) {
+        return value == null ? 0 : 1;
+    }
+
+    private static int size(final Collection<?> collection) {
+        return collection == null ? 0 : collection.size();
+    }
+
+    private static int size(final Map<?, ?> map) {
+        return map == null ? 0 : map.size();
+    }
+
+    private ApiScore() {
+        // use ApiScore.score
+    }
+}
@@ -0,0 +1,97 @@
+package berlin.yuna.apidoccrafter.logic;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Classifies file content before it reaches the parser strategies.
+ * Streams the Jackson tokens of the top level object only (nested values are skipped) and stops at the first {@code openapi} or {@code swagger} key.
+ * Content is only rejected when it can be tokenized and has no such key, unreadable content is left to the parsers and the {@link berlin.yuna.apidoccrafter.util.FileCleaner}.
+ */
+public class ApiSniffer {
+
+    public static final String FORMAT_JSON = "json";
+    public static final String FORMAT_YAML = "yaml";
+    private static final Set<String> VERSION_KEYS = Set.of("openapi", "swagger", "swaggerVersion");
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+        .enable(JsonReadFeature.ALLOW_JAVA_COMMENTS)
+        .enable(JsonReadFeature.ALLOW_YAML_COMMENTS)
+        .enable(JsonReadFeature.ALLOW_SINGLE_QUOTES)
+        .enable(JsonReadFeature.ALLOW_UNQUOTED_FIELD_NAMES)
+        .enable(JsonReadFeature.ALLOW_TRAILING_COMMA)
+        .build();
+    private static final YAMLFactory YAML_FACTORY = new YAMLFactory();
+    private static final AtomicLong SKIPPED = new AtomicLong();
+
+    /**
+     * The classification of a file.
+     *
+     * @param format  The content format {@link #FORMAT_JSON} or {@link #FORMAT_YAML}.
+     * @param version The value of the {@code openapi} or {@code swagger} key, null if the content could not be tokenized.
+     */
+    public record Spec(String format, String version) {
+    }
+
+    /**
+     * Classifies the content by format and spec version.
+     *
+     * @param content The file content.
+     * @return The spec classification, empty if the content is readable but has no top level {@code openapi} or {@code swagger} key.
+     */
+    public static Optional<Spec> sniff(final String content) {
+        final String format = content.stripLeading().startsWith("{") ? FORMAT_JSON : FORMAT_YAML;
+        try (final JsonParser parser = (FORMAT_JSON.equals(format) ? JSON_FACTORY : YAML_FACTORY).createParser(content)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.START_OBJECT) {
+                    final String version = versionOf(parser);
+                    if (version != null)
+                        return Optional.of(new Spec(format, version));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return Optional.empty();
+        } catch (final Exception ignored) {
+            return Optional.of(new Spec(format, null));
+        }
+    }
+
+    /**
+     * Records a skipped file for the run summary.
+     */
+    public static void skip() {
+        SKIPPED.incrementAndGet();
+    }
+
+    public static long skipped() {
+        return SKIPPED.get();
+    }
+
+    public static void resetCounters() {
+        SKIPPED.set(0);
+    }
+
+    private static String versionOf(final JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String key = parser.currentName();
+            final JsonToken value = parser.nextToken();
+            if (VERSION_KEYS.contains(key) && value != null && value.isScalarValue())
+                return parser.getValueAsString(parser.getText());
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    private ApiSniffer() {
+        // Utility class
+    }
+}
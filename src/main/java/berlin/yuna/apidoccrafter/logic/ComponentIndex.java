@@ -0,0 +1,134 @@
+package berlin.yuna.apidoccrafter.logic;
+
+import berlin.yuna.apidoccrafter.config.Identifier;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.v3.core.util.Json31;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.SpecVersion;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+import static berlin.yuna.apidoccrafter.util.Util.safeJsonMapper;
+
+/**
+ * Global index of the components of all parsed files, keyed by {@code type/name}, e.g. {@code schemas/Error}.
+ * Built once before merging, the first file which defines a component wins.
+ * The components are indexed as json snapshots, as merging and pruning change the parsed instances in place.
+ * {@link #resolve(OpenAPI)} copies the components which are referenced by a merged OpenAPI but defined only in other files,
+ * together with the components they reference themselves.
+ * <p>Suppressions</p>
+ * <ul>
+ *     <li>java:S106 - Standard outputs should not be used directly to log anything</li>
+ * </ul>
+ */
+@SuppressWarnings("java:S106")
+public class ComponentIndex {
+
+    private static final Map<String, Function<Components, Map<String, ?>>> SECTIONS = new LinkedHashMap<>();
+    // json snapshot of the components as defined by their file
+    private final Map<String, JsonNode> components = new HashMap<>();
+
+    static {
+        SECTIONS.put("schemas", Components::getSchemas);
+        SECTIONS.put("responses", Components::getResponses);
+        SECTIONS.put("parameters", Components::getParameters);
+        SECTIONS.put("examples", Components::getExamples);
+        SECTIONS.put("requestBodies", Components::getRequestBodies);
+        SECTIONS.put("headers", Components::getHeaders);
+        SECTIONS.put("securitySchemes", Components::getSecuritySchemes);
+        SECTIONS.put("links", Components::getLinks);
+        SECTIONS.put("callbacks", Components::getCallbacks);
+        SECTIONS.put("pathItems", Components::getPathItems);
+    }
+
+    /**
+     * Indexes the components of the parsed files.
+     *
+     * @param apis The parsed files in file order.
+     * @return The component index.
+     */
+    public static ComponentIndex of(final Collection<OpenAPI> apis) {
+        final ComponentIndex result = new ComponentIndex();
+        apis.stream().filter(api -> api != null && api.getComponents() != null).forEach(api -> {
+            final ObjectMapper mapper = mapper(api);
+            SECTIONS.forEach((type, section) -> {
+                final Map<String, ?> map = section.apply(api.getComponents());
+                if (map != null)
+                    map.forEach((name, component) -> {
+                        if (component != null && !result.components.containsKey(type + "/" + name))
+                            result.components.put(type + "/" + name, mapper.valueToTree(component));
+                    });
+            });
+        });
+        return result;
+    }
+
+    /**
+     * @return The number of indexed components.
+     */
+    public int size() {
+        return components.size();
+    }
+
+    /**
+     * Copies the indexed components which are referenced by the OpenAPI but not defined in it, including their transitive references.
+     *
+     * @param openAPI The merged OpenAPI.
+     * @return The keys ({@code type/name}) of the copied components.
+     */
+    public Set<String> resolve(final OpenAPI openAPI) {
+        if (openAPI == null || components.isEmpty())
+            return Set.of();
+        final JsonNode root = safeJsonMapper.valueToTree(openAPI);
+        final JsonNode local = root.path("components");
+        final Deque<JsonNode> queue = new ArrayDeque<>();
+        queue.add(root);
+        final Set<String> reached = ComponentPruner.references(queue, new HashSet<>(), (type, name) -> local.path(type).has(name) ? local.path(type).path(name) : components.getOrDefault(type + "/" + name, MissingNode.getInstance()));
+        final Set<String> result = new TreeSet<>();
+        final ObjectMapper mapper = mapper(openAPI);
+        final ObjectNode missing = mapper.createObjectNode();
+        for (final String key : reached) {
+            final String type = key.substring(0, key.indexOf('/'));
+            final String name = key.substring(type.length() + 1);
+            if (!local.path(type).has(name) && components.containsKey(key)) {
+                (missing.has(type) ? (ObjectNode) missing.get(type) : missing.putObject(type)).set(name, components.get(key));
+                result.add(key);
+            }
+        }
+        if (result.isEmpty())
+            return result;
+        try {
+            // new instances, the snapshot is shared by all merged files
+            final Components copy = mapper.treeToValue(missing, Components.class);
+            Identifier.session(() -> {
+                Merger.merge(openAPI::getComponents, () -> Merger.pruneBeforeMerge() ? Merger.prune(copy) : copy, openAPI::setComponents);
+                return Merger.sortDeferred() ? Merger.sortMerged(openAPI.getComponents()) : null;
+            });
+            return result;
+        } catch (final Exception e) {
+            System.err.println("[WARN] Failed to resolve components " + result + " cause [" + e.getClass().getSimpleName() + "] message [" + e.getMessage() + "]");
+            return Set.of();
+        }
+    }
+
+    private static ObjectMapper mapper(final OpenAPI openAPI) {
+        return openAPI.getSpecVersion() == SpecVersion.V31 ? Json31.mapper() : safeJsonMapper;
+    }
+
+    private ComponentIndex() {
+        // use ComponentIndex.of
+    }
+}
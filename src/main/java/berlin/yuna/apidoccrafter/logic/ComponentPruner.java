@@ -0,0 +1,153 @@
+package berlin.yuna.apidoccrafter.logic;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+import static berlin.yuna.apidoccrafter.util.Util.safeJsonMapper;
+
+/**
+ * Drops unreferenced components (tree shaking) of a merged OpenAPI.
+ * Follows the local {@code $ref}s, discriminator mappings and security requirements from everything outside of {@code components},
+ * e.g. paths, webhooks and the global security, and then transitively through the reached components.
+ * Components which are not reached are removed. External refs and component extensions are kept as they are.
+ */
+public class ComponentPruner {
+
+    private static final String COMPONENTS_PREFIX = "#/components/";
+    private static final String SCHEMAS = "schemas";
+    private static final String SECURITY_SCHEMES = "securitySchemes";
+
+    /**
+     * @param removed The number of removed components.
+     * @param bytes   The JSON size of the removed components in bytes.
+     */
+    public record Result(int removed, long bytes) {
+    }
+
+    private record Section(String type, Supplier<Map<String, ?>> map, Runnable clear) {
+    }
+
+    /**
+     * Removes the unreferenced components of an OpenAPI in place.
+     *
+     * @param openAPI The merged OpenAPI.
+     * @return The number and size of the removed components.
+     */
+    public static Result prune(final OpenAPI openAPI) {
+        if (openAPI == null || openAPI.getComponents() == null)
+            return new Result(0, 0);
+        final JsonNode root = safeJsonMapper.valueToTree(openAPI);
+        final JsonNode components = root.path("components");
+        final Set<String> reached = new HashSet<>();
+        final Deque<JsonNode> queue = new ArrayDeque<>();
+        root.fields().forEachRemaining(field -> {
+            if (!"components".equals(field.getKey()))
+                queue.add(field.getValue());
+        });
+        // the global security is a direct child of the root
+        collectSecurity(root, reached);
+        references(queue, reached, (type, name) -> components.path(type).path(name));
+        return remove(openAPI.getComponents(), components, reached);
+    }
+
+    /**
+     * Collects the components which are reached from the queued nodes and transitively through the reached components.
+     *
+     * @param queue     The nodes to start from.
+     * @param reached   The reached component keys ({@code type/name}), filled by this method.
+     * @param component Returns the JSON of a component by type and name, a missing node if the component is unknown.
+     * @return The reached component keys.
+     */
+    static Set<String> references(final Deque<JsonNode> queue, final Set<String> reached, final BiFunction<String, String, JsonNode> component) {
+        while (!queue.isEmpty()) {
+            final JsonNode node = queue.pop();
+            if (node.isObject()) {
+                collectRef(node.path("$ref").asText(null), component, reached, queue);
+                node.path("discriminator").path("mapping").forEach(mapping -> collectRef(mapping.isTextual() && !mapping.asText().contains("/") && !mapping.asText().contains("#")
+                    ? COMPONENTS_PREFIX + SCHEMAS + "/" + mapping.asText()
+                    : mapping.asText(null), component, reached, queue));
+                collectSecurity(node, reached);
+            }
+            if (node.isContainerNode())
+                node.forEach(queue::add);
+        }
+        return reached;
+    }
+
+    private static void collectRef(final String ref, final BiFunction<String, String, JsonNode> component, final Set<String> reached, final Deque<JsonNode> queue) {
+        if (ref == null || !ref.startsWith(COMPONENTS_PREFIX))
+            return;
+        final String[] parts = ref.substring(COMPONENTS_PREFIX.length()).split("/", 3);
+        if (parts.length < 2)
+            return;
+        final String name = decode(parts[1]);
+        if (reached.add(parts[0] + "/" + name))
+            queue.add(component.apply(parts[0], name));
+    }
+
+    private static void collectSecurity(final JsonNode node, final Set<String> reached) {
+        final JsonNode security = node.path("security");
+        if (security.isArray())
+            security.forEach(requirement -> requirement.fieldNames().forEachRemaining(name -> reached.add(SECURITY_SCHEMES + "/" + name)));
+    }
+
+    private static Result remove(final Components target, final JsonNode components, final Set<String> reached) {
+        final List<Section> sections = List.of(
+            new Section(SCHEMAS, target::getSchemas, () -> target.setSchemas(null)),
+            new Section("responses", target::getResponses, () -> target.setResponses(null)),
+            new Section("parameters", target::getParameters, () -> target.setParameters(null)),
+            new Section("examples", target::getExamples, () -> target.setExamples(null)),
+            new Section("requestBodies", target::getRequestBodies, () -> target.setRequestBodies(null)),
+            new Section("headers", target::getHeaders, () -> target.setHeaders(null)),
+            new Section(SECURITY_SCHEMES, target::getSecuritySchemes, () -> target.setSecuritySchemes(null)),
+            new Section("links", target::getLinks, () -> target.setLinks(null)),
+            new Section("callbacks", target::getCallbacks, () -> target.setCallbacks(null)),
+            new Section("pathItems", target::getPathItems, () -> target.setPathItems(null))
+        );
+        int removed = 0;
+        long bytes = 0;
+        for (final Section section : sections) {
+            final Map<String, ?> map = section.map().get();
+            if (map == null || map.isEmpty())
+                continue;
+            for (final Iterator<String> names = map.keySet().iterator(); names.hasNext(); ) {
+                final String name = names.next();
+                if (!reached.contains(section.type() + "/" + name)) {
+                    bytes += components.path(section.type()).path(name).toString().getBytes(StandardCharsets.UTF_8).length;
+                    names.remove();
+                    removed++;
+                }
+            }
+            if (map.isEmpty())
+                section.clear().run();
+        }
+        return new Result(removed, bytes);
+    }
+
+    // json pointer and url escaping of component names
+    private static String decode(final String name) {
+        final String pointer = name.replace("~1", "/").replace("~0", "~");
+        try {
+            return URLDecoder.decode(pointer.replace("+", "%2B"), StandardCharsets.UTF_8);
+        } catch (final IllegalArgumentException ignored) {
+            return pointer;
+        }
+    }
+
+    private ComponentPruner() {
+        // Utility class
+    }
+}
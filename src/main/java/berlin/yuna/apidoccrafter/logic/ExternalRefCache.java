@@ -0,0 +1,185 @@
+package berlin.yuna.apidoccrafter.logic;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.SpecVersion;
+import io.swagger.v3.parser.OpenAPIResolver;
+import io.swagger.v3.parser.ResolverCache;
+import io.swagger.v3.parser.core.models.ParseOptions;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static berlin.yuna.apidoccrafter.util.Util.sha256;
+
+/**
+ * Run-wide cache of external {@code $ref} documents, e.g. {@code ../common/errors.yaml} or remote URLs, shared by all input files.
+ * The swagger {@link ResolverCache} keeps documents only for a single file, so every file which references a shared fragment reads it again.
+ *
+ * <p>{@link #resolve(Processor.SourceFile, OpenAPI, long)} resolves the external refs of a parsed file once, after the parser strategies picked their result.
+ * The document map of the swagger resolver is replaced by a view which looks documents up in this cache first and adds the documents it reads.
+ * Documents are keyed by their normalized location and stored by the SHA-256 of their content, so equal copies at different locations are stored once.
+ * The cache size is bounded by {@code ref_cache_max_size}, the least recently used documents are evicted.</p>
+ * <p>OpenAPI 3.1 files are not resolved, as the swagger resolver for 3.1 doesn't use the {@link ResolverCache}.</p>
+ */
+public class ExternalRefCache {
+
+    // normalized location -> content hash
+    private static final Map<String, String> LOCATIONS = new HashMap<>();
+    // content hash -> content, least recently used first
+    private static final Map<String, String> DOCUMENTS = new LinkedHashMap<>();
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+    private static final AtomicLong EVICTED = new AtomicLong();
+    // swagger exposes the document map of a resolver only as unmodifiable view
+    private static final Field RESOLVER_FILES = resolverFiles();
+    private static long size = 0;
+
+    /**
+     * Resolves the external refs of a parsed file in place, using and filling the shared document cache.
+     *
+     * @param source  The source file, its location is the base of relative refs.
+     * @param api     The parsed OpenAPI.
+     * @param maxSize The maximum cache size in bytes.
+     * @return The resolved OpenAPI.
+     */
+    public static OpenAPI resolve(final Processor.SourceFile source, final OpenAPI api, final long maxSize) {
+        if (api == null || api.getSpecVersion() == SpecVersion.V31)
+            return api;
+        final ParseOptions options = new ParseOptions();
+        options.setResolve(true);
+        final OpenAPIResolver resolver = new OpenAPIResolver(api, null, source.location(), null, options);
+        if (RESOLVER_FILES != null) {
+            try {
+                RESOLVER_FILES.set(resolver.getCache(), new SharedDocuments(source.path().toAbsolutePath().normalize().getParent(), maxSize));
+            } catch (final IllegalAccessException ignored) {
+                // resolves without the shared cache
+            }
+        }
+        return resolver.resolve();
+    }
+
+    public static long hits() {
+        return HITS.get();
+    }
+
+    public static long misses() {
+        return MISSES.get();
+    }
+
+    public static long evicted() {
+        return EVICTED.get();
+    }
+
+    /**
+     * @return The number of cached documents.
+     */
+    public static synchronized int documents() {
+        return DOCUMENTS.size();
+    }
+
+    /**
+     * @return The cache size in bytes.
+     */
+    public static synchronized long size() {
+        return size;
+    }
+
+    /**
+     * Clears the cache and resets the hit, miss and eviction counters.
+     */
+    public static synchronized void reset() {
+        LOCATIONS.clear();
+        DOCUMENTS.clear();
+        size = 0;
+        HITS.set(0);
+        MISSES.set(0);
+        EVICTED.set(0);
+    }
+
+    private static synchronized String get(final String location) {
+        final String hash = LOCATIONS.get(location);
+        final String content = hash == null ? null : DOCUMENTS.remove(hash);
+        if (content != null)
+            DOCUMENTS.put(hash, content);
+        return content;
+    }
+
+    private static synchronized void put(final String location, final String content, final long maxSize) {
+        final long bytes = (long) content.length() * Character.BYTES;
+        if (bytes > maxSize || LOCATIONS.containsKey(location))
+            return;
+        final String hash = sha256(content.getBytes(StandardCharsets.UTF_8));
+        LOCATIONS.put(location, hash);
+        if (DOCUMENTS.putIfAbsent(hash, content) != null)
+            return;
+        size += bytes;
+        for (final Iterator<Map.Entry<String, String>> entries = DOCUMENTS.entrySet().iterator(); size > maxSize && entries.hasNext(); ) {
+            final Map.Entry<String, String> eldest = entries.next();
+            entries.remove();
+            size -= (long) eldest.getValue().length() * Character.BYTES;
+            LOCATIONS.values().removeIf(eldest.getKey()::equals);
+            EVICTED.incrementAndGet();
+        }
+    }
+
+    private static Field resolverFiles() {
+        try {
+            final Field result = ResolverCache.class.getDeclaredField("externalFileCache");
+            result.setAccessible(true);
+            return result;
+        } catch (final Exception ignored) {
+            return null;
+        }
+    }
+
+    /**
+     * Document map of a single {@link ResolverCache}, keyed by the ref as written e.g. {@code ./common.yaml}.
+     * Missing documents are looked up in the shared cache by their location relative to the file, documents read by the resolver are added to it.
+     */
+    private static final class SharedDocuments extends HashMap<String, String> {
+
+        private final transient Path parent;
+        private final long maxSize;
+
+        private SharedDocuments(final Path parent, final long maxSize) {
+            this.parent = parent;
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public String get(final Object file) {
+            final String result = super.get(file);
+            if (result != null || !(file instanceof final String name))
+                return result;
+            final String shared = ExternalRefCache.get(location(name));
+            if (shared != null) {
+                HITS.incrementAndGet();
+                super.put(name, shared);
+            }
+            return shared;
+        }
+
+        @Override
+        public String put(final String file, final String content) {
+            if (content != null && !content.equals(super.get(file))) {
+                MISSES.incrementAndGet();
+                ExternalRefCache.put(location(file), content, maxSize);
+            }
+            return super.put(file, content);
+        }
+
+        private String location(final String file) {
+            return file.contains("://") || parent == null ? file : parent.resolve(file).normalize().toString();
+        }
+    }
+
+    private ExternalRefCache() {
+        // Utility class
+    }
+}
@@ -0,0 +1,104 @@
+package berlin.yuna.apidoccrafter.logic;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static berlin.yuna.apidoccrafter.config.Config.HEAP_FRACTION;
+import static berlin.yuna.apidoccrafter.config.Config.HEAP_INFLATION;
+import static berlin.yuna.apidoccrafter.config.Config.config;
+
+/**
+ * Admits parse and merge tasks only while their estimated heap usage fits into a fraction of the max heap.
+ * A task is weighted by its input file size multiplied with the {@code heap_inflation} factor (swagger models need 10-30x the file size).
+ * A single task is always admitted when nothing else is in flight, so oversized files are processed alone instead of failing.
+ */
+public class HeapGovernor {
+
+    private static final Object LOCK = new Object();
+    private static final AtomicLong THROTTLED = new AtomicLong();
+    private static final AtomicLong PEAK = new AtomicLong();
+    private static long inFlight = 0;
+
+    /**
+     * Blocks until the estimated heap usage of the task fits into the heap budget.
+     *
+     * @param inputBytes The input size of the task.
+     * @return The admitted weight, to be passed to {@link #release(long)}.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public static long acquire(final long inputBytes) throws InterruptedException {
+        final long weight = (long) Math.min(Long.MAX_VALUE, Math.max(0, inputBytes) * inflation());
+        final long budget = budget();
+        synchronized (LOCK) {
+            if (inFlight > 0 && inFlight + weight > budget)
+                THROTTLED.incrementAndGet();
+            while (inFlight > 0 && inFlight + weight > budget)
+                LOCK.wait();
+            inFlight += weight;
+            PEAK.accumulateAndGet(inFlight, Math::max);
+        }
+        return weight;
+    }
+
+    /**
+     * Releases the weight of a finished task.
+     *
+     * @param weight The weight returned by {@link #acquire(long)}.
+     */
+    public static void release(final long weight) {
+        synchronized (LOCK) {
+            inFlight -= weight;
+            LOCK.notifyAll();
+        }
+    }
+
+    /**
+     * @param files The input files of a task.
+     * @return The summed size of the files, missing files count as 0.
+     */
+    public static long sizeOf(final Collection<Path> files) {
+        return files.stream().mapToLong(file -> {
+            try {
+                return Files.size(file);
+            } catch (final Exception ignored) {
+                return 0;
+            }
+        }).sum();
+    }
+
+    /**
+     * @return The heap budget in bytes: {@code heap_fraction} of the max heap.
+     */
+    public static long budget() {
+        return (long) (Runtime.getRuntime().maxMemory() * config().asDoubleOpt(HEAP_FRACTION).filter(fraction -> fraction > 0 && fraction <= 1).orElse(0.7));
+    }
+
+    /**
+     * @return The number of tasks which had to wait for heap budget.
+     */
+    public static long throttled() {
+        return THROTTLED.get();
+    }
+
+    /**
+     * @return The highest estimated heap usage of in-flight tasks in bytes.
+     */
+    public static long peak() {
+        return PEAK.get();
+    }
+
+    public static void resetCounters() {
+        THROTTLED.set(0);
+        PEAK.set(0);
+    }
+
+    private static double inflation() {
+        return config().asDoubleOpt(HEAP_INFLATION).filter(factor -> factor > 0).orElse(20d);
+    }
+
+    private HeapGovernor() {
+        // Utility class
+    }
+}
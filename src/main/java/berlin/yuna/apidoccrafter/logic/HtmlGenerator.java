@@ -1,6 +1,5 @@
 package berlin.yuna.apidoccrafter.logic;
 
-import berlin.yuna.apidoccrafter.config.Config;
 import berlin.yuna.typemap.logic.ArgsDecoder;
 import io.swagger.v3.core.util.Json;
 import io.swagger.v3.oas.models.OpenAPI;
@@ -28,7 +27,7 @@ import static berlin.yuna.apidoccrafter.config.Config.SWAGGER_NAV;
 import static berlin.yuna.apidoccrafter.config.Config.SWAGGER_NAV_CSS;
 import static berlin.yuna.apidoccrafter.config.Config.SWAGGER_TITLE;
 import static berlin.yuna.apidoccrafter.config.Config.config;
-import static berlin.yuna.apidoccrafter.config.Config.sortBy;
+import static berlin.yuna.apidoccrafter.config.Config.settings;
 import static berlin.yuna.apidoccrafter.util.Util.copyResourceToOutput;
 import static berlin.yuna.apidoccrafter.util.Util.displayName;
 import static berlin.yuna.apidoccrafter.util.Util.filenameHtml;
@@ -86,8 +85,8 @@ public class HtmlGenerator {
             + "  SwaggerUIBundle(" + LS
             + "    {" + LS
             + "      spec: " + openApiToJson(openApi) + "," + LS
-            + ofNullable(Config.sortBy(SORT_TAGS)).map(asc -> "      tagsSorter: " + (asc ? "'alpha'" : "(a, b) => a.toLowerCase() < b.toLowerCase() ? 1 : -1") + "," + LS).orElse("")
-            + ofNullable(Config.sortBy(SORT_PATHS)).map(asc -> "      operationsSorter: " + (asc ? "'alpha'" : "(a, b) => a.toLowerCase() < b.toLowerCase() ? 1 : -1") + "," + LS).orElse("")
+            + ofNullable(settings().sortBy(SORT_TAGS)).map(asc -> "      tagsSorter: " + (asc ? "'alpha'" : "(a, b) => a.toLowerCase() < b.toLowerCase() ? 1 : -1") + "," + LS).orElse("")
+            + ofNullable(settings().sortBy(SORT_PATHS)).map(asc -> "      operationsSorter: " + (asc ? "'alpha'" : "(a, b) => a.toLowerCase() < b.toLowerCase() ? 1 : -1") + "," + LS).orElse("")
             + "      dom_id:'#swagger-ui'," + LS
             + "      deepLinking:true," + LS
             + "      presets:[SwaggerUIBundle.presets.apis,SwaggerUIStandalonePreset]," + LS
@@ -100,7 +99,7 @@ public class HtmlGenerator {
     }
 
     private static String generateSourceLinks(final Path path, final OpenAPI openApi) {
-        final Boolean enableLinks = sortBy(SWAGGER_LINKS);
+        final Boolean enableLinks = settings().sortBy(SWAGGER_LINKS);
         return enableLinks == null || !enableLinks ? "" : "<div class=\"swagger-ui source-links\">" + LS
             + "  <a href='" + filenameJson(path, openApi) + "' rel=\"noopener noreferrer\" class=\"link\" target=\"" + filenameJson(path, openApi) + "\">JSON</a>" + LS
             + "  <a href='" + filenameYaml(path, openApi) + "' rel=\"noopener noreferrer\" class=\"link\" target=\"" + filenameYaml(path, openApi) + "\">YAML</a>" + LS
@@ -0,0 +1,131 @@
+package berlin.yuna.apidoccrafter.logic;
+
+import berlin.yuna.apidoccrafter.config.Identifier;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import static berlin.yuna.apidoccrafter.config.Identifier.isEqual;
+
+/**
+ * Multi-key index over the elements of a collection or the keys of a map, used by {@link Merger} to find the merge target of a new element.
+ * {@link Identifier#isEqual(Object, Object)} treats two objects as equal if any key position of {@link Identifier#getKeys(Object)} matches,
+ * so every element is indexed once per key position. A lookup returns the first equal element in iteration order, exactly like a linear scan.
+ * Candidates are always verified with {@link Identifier#isEqual(Object, Object)}, which keeps the result correct for elements whose keys changed after indexing.
+ *
+ * @param <T> The element type.
+ */
+public class IdentityIndex<T> {
+
+    private final Function<T, Object> identity;
+    private final List<T> items = new ArrayList<>();
+    private final List<String[]> keys = new ArrayList<>();
+    private final Map<Key, List<Integer>> byKey = new HashMap<>();
+    private final List<Integer> unkeyed = new ArrayList<>();
+
+    private record Key(int position, String value) {
+    }
+
+    /**
+     * @param items    The elements in iteration order.
+     * @param identity Extracts the identifiable object of an element, e.g. the key of a map entry.
+     */
+    public IdentityIndex(final Iterable<T> items, final Function<T, Object> identity) {
+        this.identity = identity;
+        items.forEach(this::add);
+    }
+
+    /**
+     * Appends an element at the end of the iteration order.
+     *
+     * @param item The element to add.
+     */
+    public void add(final T item) {
+        final int ordinal = items.size();
+        final String[] itemKeys = Identifier.getKeys(identity.apply(item));
+        items.add(item);
+        keys.add(itemKeys);
+        if (itemKeys == null) {
+            unkeyed.add(ordinal);
+        } else {
+            for (int i = 0; i < itemKeys.length; i++)
+                insert(new Key(i, itemKeys[i]), ordinal);
+        }
+    }
+
+    /**
+     * Indexes the current keys of an element again, e.g. after the element was merged and gained new identifiers.
+     *
+     * @param ordinal The ordinal returned by {@link #find(Object)}.
+     */
+    public void refresh(final int ordinal) {
+        final String[] before = keys.get(ordinal);
+        final String[] after = Identifier.getKeys(identity.apply(items.get(ordinal)));
+        if (before == null || after == null)
+            return;
+        for (int i = 0; i < after.length; i++) {
+            if (i >= before.length || !Objects.equals(before[i], after[i]))
+                insert(new Key(i, after[i]), ordinal);
+        }
+        keys.set(ordinal, after);
+    }
+
+    /**
+     * Finds the first element which is equal to the given object.
+     *
+     * @param other The identifiable object to look for.
+     * @return The ordinal of the first equal element or -1 if there is none.
+     */
+    public int find(final Object other) {
+        final String[] otherKeys = Identifier.getKeys(other);
+        if (otherKeys == null) {
+            for (int ordinal = 0; ordinal < items.size(); ordinal++)
+                if (isEqual(identity.apply(items.get(ordinal)), other))
+                    return ordinal;
+            return -1;
+        }
+        final List<List<Integer>> candidates = new ArrayList<>(otherKeys.length + 1);
+        for (int i = 0; i < otherKeys.length; i++)
+            candidates.add(byKey.getOrDefault(new Key(i, otherKeys[i]), List.of()));
+        candidates.add(unkeyed);
+        return firstEqual(candidates, other);
+    }
+
+    /**
+     * @param ordinal The ordinal returned by {@link #find(Object)}.
+     * @return The element.
+     */
+    public T get(final int ordinal) {
+        return items.get(ordinal);
+    }
+
+    // walks the ascending candidate lists in merged order, the first verified candidate is the first equal element
+    private int firstEqual(final List<List<Integer>> candidates, final Object other) {
+        final int[] cursors = new int[candidates.size()];
+        while (true) {
+            int next = Integer.MAX_VALUE;
+            for (int i = 0; i < cursors.length; i++)
+                if (cursors[i] < candidates.get(i).size())
+                    next = Math.min(next, candidates.get(i).get(cursors[i]));
+            if (next == Integer.MAX_VALUE)
+                return -1;
+            if (isEqual(identity.apply(items.get(next)), other))
+                return next;
+            for (int i = 0; i < cursors.length; i++)
+                if (cursors[i] < candidates.get(i).size() && candidates.get(i).get(cursors[i]) == next)
+                    cursors[i]++;
+        }
+    }
+
+    private void insert(final Key key, final int ordinal) {
+        final List<Integer> ordinals = byKey.computeIfAbsent(key, k -> new ArrayList<>());
+        final int index = Collections.binarySearch(ordinals, ordinal);
+        if (index < 0)
+            ordinals.add(-index - 1, ordinal);
+    }
+}
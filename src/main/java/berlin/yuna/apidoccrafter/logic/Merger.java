@@ -1,6 +1,7 @@
 package berlin.yuna.apidoccrafter.logic;
 
 import berlin.yuna.apidoccrafter.config.Identifier;
+import berlin.yuna.apidoccrafter.util.GlobMatcher;
 import berlin.yuna.apidoccrafter.util.Util;
 import com.fasterxml.jackson.core.TreeNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
@@ -50,9 +51,10 @@ import static berlin.yuna.apidoccrafter.config.Config.SORT_SECURITY;
 import static berlin.yuna.apidoccrafter.config.Config.SORT_SERVERS;
 import static berlin.yuna.apidoccrafter.config.Config.SORT_TAGS;
 import static berlin.yuna.apidoccrafter.config.Config.SORT_WEBHOOKS;
-import static berlin.yuna.apidoccrafter.config.Config.sortBy;
+import static berlin.yuna.apidoccrafter.config.Config.settings;
 import static berlin.yuna.apidoccrafter.config.Identifier.isEqual;
 import static berlin.yuna.apidoccrafter.util.Util.nothing;
+import static berlin.yuna.apidoccrafter.util.Util.removeGlob;
 import static java.util.Optional.ofNullable;
 
 /**
@@ -69,6 +71,13 @@ import static java.util.Optional.ofNullable;
 @SuppressWarnings({"unchecked", "java:S106", "java:S1874", "deprecation"})
 public class Merger {
 
+    // below this number of element comparisons a linear scan is cheaper than building an IdentityIndex
+    private static final int INDEX_THRESHOLD = 64;
+    // set while prune walks a value, remove patterns are applied without sorting
+    private static final ThreadLocal<Boolean> PRUNING = new ThreadLocal<>();
+    // set while the final pass of sort_deferred walks a value, which sorts although the merge steps don't
+    private static final ThreadLocal<Boolean> SORTING = new ThreadLocal<>();
+
     /**
      * Merges two values, handling logic specific to their types.
      * Performs deep merge of objects if necessary.
@@ -90,15 +99,30 @@ public class Merger {
      * @param ascending Whether to sort the collection in ascending order.
      */
     public static void mergeCollection(final Collection<Object> oldList, final Collection<Object> newList, final Boolean ascending) {
-        newList.stream().filter(Objects::nonNull).forEach(newItem -> oldList.stream()
-            .filter(Objects::nonNull)
-            .filter(oldItem -> isEqual(oldItem, newItem))
-            .findFirst()
-            .ifPresentOrElse(oldItem -> merge(oldItem, newItem), () -> oldList.add(newItem))
-        );
+        if (oldList instanceof List<Object> && (long) oldList.size() * newList.size() > INDEX_THRESHOLD) {
+            final IdentityIndex<Object> index = new IdentityIndex<>(oldList.stream().filter(Objects::nonNull).toList(), item -> item);
+            newList.stream().filter(Objects::nonNull).toList().forEach(newItem -> {
+                final int ordinal = index.find(newItem);
+                if (ordinal < 0) {
+                    oldList.add(newItem);
+                    index.add(newItem);
+                } else {
+                    merge(index.get(ordinal), newItem);
+                    index.refresh(ordinal);
+                }
+            });
+        } else {
+            newList.stream().filter(Objects::nonNull).forEach(newItem -> oldList.stream()
+                .filter(Objects::nonNull)
+                .filter(oldItem -> isEqual(oldItem, newItem))
+                .findFirst()
+                .ifPresentOrElse(oldItem -> merge(oldItem, newItem), () -> oldList.add(newItem))
+            );
+        }
 
-        oldList.removeIf(Merger::shouldRemove);
-        if (ascending != null && oldList instanceof SequencedCollection<Object>)
+        if (filterNow())
+            oldList.removeIf(Merger::shouldRemove);
+        if (ascending != null && oldList instanceof SequencedCollection<Object> && sortNow())
             sort(oldList, ascending);
     }
 
@@ -111,23 +135,113 @@ public class Merger {
      * @param <V>    Type of values in the map.
      */
     public static <K, V> void mergeMap(final Map<K, V> oldMap, final Map<K, V> newMap, final Boolean ascending) {
-        newMap.forEach((newKey, newValue) -> oldMap.entrySet().stream()
-            .filter(oldEntity -> isEqual(oldEntity.getKey(), newKey))
-            .findFirst()
-            .ifPresentOrElse(oldEntity -> merge(oldEntity.getValue(), newValue), () -> oldMap.put(newKey, newValue)));
+        if (oldMap instanceof LinkedHashMap<K, V> && (long) oldMap.size() * newMap.size() > INDEX_THRESHOLD) {
+            final IdentityIndex<K> index = new IdentityIndex<>(oldMap.keySet(), key -> key);
+            new ArrayList<>(newMap.entrySet()).forEach(newEntry -> {
+                final int ordinal = index.find(newEntry.getKey());
+                if (ordinal >= 0) {
+                    merge(oldMap.get(index.get(ordinal)), newEntry.getValue());
+                } else {
+                    // replacing an equal key keeps its position
+                    final boolean known = oldMap.containsKey(newEntry.getKey());
+                    oldMap.put(newEntry.getKey(), newEntry.getValue());
+                    if (!known)
+                        index.add(newEntry.getKey());
+                }
+            });
+        } else {
+            newMap.forEach((newKey, newValue) -> oldMap.entrySet().stream()
+                .filter(oldEntity -> isEqual(oldEntity.getKey(), newKey))
+                .findFirst()
+                .ifPresentOrElse(oldEntity -> merge(oldEntity.getValue(), newValue), () -> oldMap.put(newKey, newValue)));
+        }
 
-        oldMap.entrySet().removeIf(item -> shouldRemove(item.getKey()));
-        if (ascending != null && oldMap instanceof SequencedMap<?, ?>)
+        if (filterNow())
+            oldMap.entrySet().removeIf(item -> shouldRemove(item.getKey()));
+        if (ascending != null && oldMap instanceof SequencedMap<?, ?> && sortNow())
             sort(oldMap, ascending);
     }
 
+    /**
+     * Sorts and filters a value in place, without merging its elements with each other.
+     * Used for values which exist only on the new side.
+     *
+     * @param value The value to normalize.
+     * @param <T>   Type of the value.
+     * @return The normalized value.
+     */
+    public static <T> T normalize(final T value) {
+        return normalize(value, null);
+    }
+
+    /**
+     * Sorts and filters a merged value once, as final pass when {@code sort_deferred} skips the sorting of the single merge steps.
+     * The result is deterministic for the same input files, but not byte identical to eager sorting:
+     * eager sorting only sorts the containers a merge step touched and matches new elements against the already sorted ones,
+     * while this pass sorts every container of the value and the merge steps matched against the input order.
+     *
+     * @param value The merged value to sort.
+     * @param <T>   Type of the value.
+     * @return The sorted value.
+     */
+    public static <T> T sortMerged(final T value) {
+        final Boolean previous = SORTING.get();
+        SORTING.set(true);
+        try {
+            return normalize(value, null);
+        } finally {
+            SORTING.set(previous);
+        }
+    }
+
+    /**
+     * @return true if {@code sort_deferred} is enabled and merged values are sorted once by {@link #sortMerged(Object)}.
+     */
+    public static boolean sortDeferred() {
+        return settings().sortDeferred();
+    }
+
+    /**
+     * Applies the {@code remove_patterns} to a value in place, without sorting it.
+     * Used as single pruning pass per parsed file when {@code prune_before_merge} skips the filtering of the single merge steps.
+     * Elements whose identifiers match a remove pattern only after merging with another file are kept in that mode.
+     *
+     * @param value The value to prune.
+     * @param <T>   Type of the value.
+     * @return The pruned value.
+     */
+    public static <T> T prune(final T value) {
+        final Boolean previous = PRUNING.get();
+        PRUNING.set(true);
+        try {
+            return normalize(value, null);
+        } finally {
+            PRUNING.set(previous);
+        }
+    }
+
+    /**
+     * @return true if {@code prune_before_merge} is enabled and the merge steps skip the remove patterns, see {@link #prune(Object)}.
+     */
+    public static boolean pruneBeforeMerge() {
+        return settings().pruneBeforeMerge();
+    }
+
+    private static boolean sortNow() {
+        return !Boolean.TRUE.equals(PRUNING.get()) && (!sortDeferred() || Boolean.TRUE.equals(SORTING.get()));
+    }
+
+    private static boolean filterNow() {
+        return Boolean.TRUE.equals(PRUNING.get()) || !pruneBeforeMerge();
+    }
+
+
     private static <T> void merge(final Supplier<T> oldValue, final Supplier<T> newValue, final Consumer<T> onNew, final String ascending) {
         mergeFun(
             oldValue, // Null check
             newValue, // Null check
             (oldItem, newItem) -> mergeSortFilter(oldItem, newItem, ascending), // merge & sort & filter
-            //FIXME: unnecessary merge, only sort & filter
-            newItem -> onNew.accept((mergeSortFilter(newItem, newItem, ascending)))  // sort & filter only
+            newItem -> onNew.accept(normalize(newItem, ascending))  // sort & filter only
         );
     }
 
@@ -305,8 +419,10 @@ public class Merger {
             }
             case Operation oldOp when newItem instanceof final Operation newOp -> {
                 final AtomicBoolean remove = new AtomicBoolean(false);
-                filterAndRemoveOp(() -> oldOp, op -> remove.compareAndSet(false, op == null));
-                filterAndRemoveOp(() -> newOp, op -> remove.compareAndSet(false, op == null));
+                if (filterNow()) {
+                    filterAndRemoveOp(() -> oldOp, op -> remove.compareAndSet(false, op == null));
+                    filterAndRemoveOp(() -> newOp, op -> remove.compareAndSet(false, op == null));
+                }
                 merge(oldOp::getTags, newOp::getTags, oldOp::setTags, SORT_TAGS);
                 merge(oldOp::getSummary, newOp::getSummary, oldOp::setSummary);
                 merge(oldOp::getDescription, newOp::getDescription, oldOp::setDescription);
@@ -419,20 +535,22 @@ public class Merger {
                 merge(oldXml::getExtensions, newXml::getExtensions, oldXml::setExtensions, SORT_EXTENSIONS);
             }
             case ServerVariables oldServerV when newItem instanceof final ServerVariables newServerV -> {
-                mergeMap(oldServerV, newServerV, sortBy(ascending));
+                mergeMap(oldServerV, newServerV, settings().sortBy(ascending));
                 merge(oldServerV::getExtensions, newServerV::getExtensions, oldServerV::setExtensions, SORT_EXTENSIONS);
             }
             case Paths oldPaths when newItem instanceof final Paths newPaths -> {
                 // Complex path filtering
-                filterAndRemoveOp(oldPaths);
-                filterAndRemoveOp(newPaths);
-                mergeMap(oldPaths, newPaths, sortBy(ascending));
+                if (filterNow()) {
+                    filterAndRemoveOp(oldPaths);
+                    filterAndRemoveOp(newPaths);
+                }
+                mergeMap(oldPaths, newPaths, settings().sortBy(ascending));
                 merge(oldPaths::getExtensions, newPaths::getExtensions, oldPaths::setExtensions, SORT_EXTENSIONS);
             }
             case Collection<?> oldList when newItem instanceof Collection<?> newList ->
-                mergeCollection((Collection<Object>) oldList, (Collection<Object>) newList, sortBy(ascending));
+                mergeCollection((Collection<Object>) oldList, (Collection<Object>) newList, settings().sortBy(ascending));
             case Map<?, ?> oldMap when newItem instanceof Map<?, ?> newMap ->
-                mergeMap((Map<Object, Object>) oldMap, (Map<Object, Object>) newMap, sortBy(ascending));
+                mergeMap((Map<Object, Object>) oldMap, (Map<Object, Object>) newMap, settings().sortBy(ascending));
             case LinkParameter oldObj when newItem instanceof final LinkParameter newObj -> {
                 merge(oldObj::getValue, newObj::getValue, oldObj::setValue);
                 merge(oldObj::getExtensions, newObj::getExtensions, oldObj::setExtensions, SORT_EXTENSIONS);
@@ -460,26 +578,246 @@ public class Merger {
                 merge(oldObj::getAllowReserved, newObj::getAllowReserved, oldObj::setAllowReserved);
                 merge(oldObj::getExtensions, newObj::getExtensions, oldObj::setExtensions, SORT_EXTENSIONS);
             }
-            default -> {
-                if (oldItem instanceof Date
-                    || oldItem instanceof Boolean
-                    || oldItem instanceof Number
-                    || oldItem instanceof CharSequence
-                    || oldItem instanceof ArrayNode
-                    || oldItem instanceof ObjectNode
-                    || oldItem instanceof TemporalAccessor
-                    || oldItem instanceof Enum<?>
-                    || TreeNode.class.isAssignableFrom(oldItem.getClass())
-                ) {
-                    // ignored not merge-able
-                } else {
-                    System.out.println("[DEBUG] Unknown type [" + oldItem.getClass() + "]");
-                }
-            }
+            // ignored not merge-able
+            default -> logUnknown(oldItem);
         }
+        // merged fields can change the identifiers
+        Identifier.forget(oldItem);
         return oldItem;
     }
 
+    // walks a value once and sorts & filters its collections and maps, mirrors the fields of mergeSortFilter without merging anything
+    @SuppressWarnings({"java:S6541"}) // "Brain Method" core complexity
+    private static <T> T normalize(final T item, final String ascending) {
+        switch (item) {
+            case null -> {
+                return null;
+            }
+            case OpenAPI api -> {
+                normalize(api.getInfo(), null);
+                normalize(api.getExternalDocs(), null);
+                normalize(api.getServers(), SORT_SERVERS);
+                normalize(api.getSecurity(), SORT_SECURITY);
+                normalize(api.getTags(), SORT_TAGS);
+                normalize(api.getPaths(), SORT_PATHS);
+                normalize(api.getComponents(), null);
+                normalize(api.getWebhooks(), SORT_WEBHOOKS);
+                normalize(api.getExtensions(), SORT_EXTENSIONS);
+            }
+            case Components comp -> {
+                normalize(comp.getSchemas(), SORT_SCHEMAS);
+                normalize(comp.getResponses(), SORT_RESPONSES);
+                normalize(comp.getParameters(), SORT_PARAMETERS);
+                normalize(comp.getExamples(), SORT_EXAMPLES);
+                normalize(comp.getRequestBodies(), SORT_REQUESTS);
+                normalize(comp.getHeaders(), SORT_HEADERS);
+                normalize(comp.getSecuritySchemes(), SORT_SECURITY);
+                normalize(comp.getLinks(), SORT_WEBHOOKS);
+                normalize(comp.getCallbacks(), SORT_WEBHOOKS);
+                normalize(comp.getExtensions(), SORT_EXTENSIONS);
+            }
+            case Link link -> {
+                normalize(link.getParameters(), SORT_PARAMETERS);
+                normalize(link.getRequestBody(), null);
+                normalize(link.getHeaders(), SORT_HEADERS);
+                normalize(link.getServer(), null);
+                normalize(link.getExtensions(), SORT_EXTENSIONS);
+            }
+            case OAuthFlow auth -> {
+                normalize(auth.getScopes(), SORT_SCOPES);
+                normalize(auth.getExtensions(), SORT_EXTENSIONS);
+            }
+            case OAuthFlows auth -> {
+                normalize(auth.getImplicit(), null);
+                normalize(auth.getPassword(), null);
+                normalize(auth.getClientCredentials(), null);
+                normalize(auth.getAuthorizationCode(), null);
+                normalize(auth.getExtensions(), SORT_EXTENSIONS);
+            }
+            case SecurityScheme scheme -> {
+                normalize(scheme.getFlows(), null);
+                normalize(scheme.getExtensions(), SORT_EXTENSIONS);
+            }
+            case License license -> normalize(license.getExtensions(), SORT_EXTENSIONS);
+            case MediaType mediaType -> {
+                normalize(mediaType.getSchema(), null);
+                normalize(mediaType.getExample(), null);
+                normalize(mediaType.getExamples(), SORT_EXAMPLES);
+                normalize(mediaType.getEncoding(), SORT_ENCODING);
+                normalize(mediaType.getExtensions(), SORT_EXTENSIONS);
+            }
+            case Contact contact -> normalize(contact.getExtensions(), SORT_EXTENSIONS);
+            case Info info -> {
+                normalize(info.getContact(), null);
+                normalize(info.getLicense(), null);
+                normalize(info.getExtensions(), SORT_EXTENSIONS);
+            }
+            case Server server -> {
+                normalize(server.getVariables(), SORT_SERVERS);
+                normalize(server.getExtensions(), SORT_EXTENSIONS);
+            }
+            case ServerVariable serverV -> {
+                normalize(serverV.getEnum(), SORT_SERVERS);
+                normalize(serverV.getExtensions(), SORT_EXTENSIONS);
+            }
+            case Tag tag -> {
+                normalize(tag.getExternalDocs(), null);
+                normalize(tag.getExtensions(), SORT_EXTENSIONS);
+            }
+            case ExternalDocumentation doc -> normalize(doc.getExtensions(), SORT_EXTENSIONS);
+            case Parameter param -> {
+                normalize(param.getSchema(), null);
+                normalize(param.getExamples(), SORT_EXAMPLES);
+                normalize(param.getExample(), null);
+                normalize(param.getContent(), SORT_CONTENT);
+                normalize(param.getExtensions(), SORT_EXTENSIONS);
+            }
+            case Header header -> {
+                normalize(header.getSchema(), null);
+                normalize(header.getExamples(), SORT_EXAMPLES);
+                normalize(header.getContent(), SORT_CONTENT);
+                normalize(header.getExtensions(), SORT_EXTENSIONS);
+            }
+            case ApiResponse resp -> {
+                normalize(resp.getHeaders(), SORT_HEADERS);
+                normalize(resp.getContent(), SORT_CONTENT);
+                normalize(resp.getLinks(), SORT_WEBHOOKS);
+                normalize(resp.getExtensions(), SORT_EXTENSIONS);
+            }
+            case ApiResponses resp -> {
+                normalize(resp.getDefault(), null);
+                normalize(resp.getExtensions(), SORT_EXTENSIONS);
+            }
+            case RequestBody body -> {
+                normalize(body.getContent(), SORT_CONTENT);
+                normalize(body.getExtensions(), SORT_EXTENSIONS);
+            }
+            case Callback call -> normalize(call.getExtensions(), SORT_EXTENSIONS);
+            case SecurityRequirement sec -> {
+                normalize(sec.getScopes(), SORT_SCOPES);
+                normalize(sec.getRequirements(), null);
+            }
+            case Example ex -> {
+                normalize(ex.getValue(), null);
+                normalize(ex.getExtensions(), SORT_EXTENSIONS);
+            }
+            case Operation op -> {
+                if (filterNow() && hasRemoveTag(op))
+                    return null;
+                normalize(op.getTags(), SORT_TAGS);
+                normalize(op.getExternalDocs(), null);
+                normalize(op.getParameters(), SORT_PARAMETERS);
+                normalize(op.getRequestBody(), null);
+                normalize(op.getResponses(), SORT_RESPONSES);
+                normalize(op.getCallbacks(), SORT_WEBHOOKS);
+                normalize(op.getSecurity(), SORT_SECURITY);
+                normalize(op.getServers(), SORT_SERVERS);
+                normalize(op.getExtensions(), SORT_EXTENSIONS);
+            }
+            case PathItem pathItem -> {
+                pathItem.readOperations().forEach(op -> normalize(op, null));
+                normalize(pathItem.getServers(), SORT_SERVERS);
+                normalize(pathItem.getParameters(), SORT_PARAMETERS);
+                normalize(pathItem.getExtensions(), SORT_EXTENSIONS);
+            }
+            case Schema<?> schema -> {
+                normalize(schema.getDefault(), null);
+                normalize(schema.getRequired(), SORT_PARAMETERS);
+                normalize(schema.getNot(), null);
+                normalize(schema.getProperties(), SORT_PARAMETERS);
+                normalize(schema.getAdditionalProperties(), null);
+                normalize(schema.getExample(), null);
+                normalize(schema.getExternalDocs(), null);
+                normalize(schema.getXml(), null);
+                normalize(schema.getExtensions(), SORT_EXTENSIONS);
+                normalize(schema.getEnum(), SORT_SCOPES);
+                normalize(schema.getExamples(), SORT_EXAMPLES);
+                normalize(schema.getDiscriminator(), null);
+                normalize(schema.getPrefixItems(), SORT_SCOPES);
+                normalize(schema.getAllOf(), SORT_SCHEMAS);
+                normalize(schema.getAnyOf(), SORT_SCHEMAS);
+                normalize(schema.getOneOf(), SORT_SCHEMAS);
+                normalize(schema.getItems(), null);
+                normalize(schema.getConst(), null);
+                normalize(schema.getPatternProperties(), SORT_PARAMETERS);
+                normalize(schema.getContains(), null);
+                normalize(schema.get$vocabulary(), null);
+                normalize(schema.getContentSchema(), null);
+                normalize(schema.getPropertyNames(), null);
+                normalize(schema.getUnevaluatedProperties(), null);
+                normalize(schema.getAdditionalItems(), null);
+                normalize(schema.getUnevaluatedItems(), null);
+                normalize(schema.getIf(), null);
+                normalize(schema.getElse(), null);
+                normalize(schema.getThen(), null);
+                normalize(schema.getDependentSchemas(), SORT_SCHEMAS);
+                normalize(schema.getJsonSchema(), null);
+                normalize(schema.getJsonSchemaImpl(), null);
+            }
+            case XML xml -> normalize(xml.getExtensions(), SORT_EXTENSIONS);
+            case ServerVariables serverV -> {
+                normalizeMap(serverV, settings().sortBy(ascending));
+                normalize(serverV.getExtensions(), SORT_EXTENSIONS);
+            }
+            case Paths paths -> {
+                if (filterNow())
+                    filterAndRemoveOp(paths);
+                normalizeMap(paths, settings().sortBy(ascending));
+                normalize(paths.getExtensions(), SORT_EXTENSIONS);
+            }
+            case Collection<?> list -> normalizeCollection((Collection<Object>) list, settings().sortBy(ascending));
+            case Map<?, ?> map -> normalizeMap((Map<Object, Object>) map, settings().sortBy(ascending));
+            case LinkParameter param -> normalize(param.getExtensions(), SORT_EXTENSIONS);
+            case Discriminator discriminator -> {
+                normalize(discriminator.getMapping(), SORT_WEBHOOKS);
+                normalize(discriminator.getExtensions(), SORT_EXTENSIONS);
+            }
+            case Encoding encoding -> {
+                normalize(encoding.getHeaders(), SORT_WEBHOOKS);
+                normalize(encoding.getExtensions(), SORT_EXTENSIONS);
+            }
+            case EncodingProperty encoding -> {
+                normalize(encoding.getHeaders(), SORT_WEBHOOKS);
+                normalize(encoding.getExtensions(), SORT_EXTENSIONS);
+            }
+            default -> logUnknown(item);
+        }
+        return item;
+    }
+
+    private static void normalizeCollection(final Collection<Object> list, final Boolean ascending) {
+        list.stream().filter(Objects::nonNull).forEach(item -> normalize(item, null));
+        // removed elements can change the identifiers of the collection
+        if (filterNow() && list.removeIf(Merger::shouldRemove))
+            Identifier.forget(list);
+        if (ascending != null && list instanceof SequencedCollection<Object> && sortNow())
+            sort(list, ascending);
+    }
+
+    private static <K, V> void normalizeMap(final Map<K, V> map, final Boolean ascending) {
+        map.values().stream().filter(Objects::nonNull).forEach(value -> normalize(value, null));
+        // removed keys can change the identifiers of the map
+        if (filterNow() && map.entrySet().removeIf(item -> shouldRemove(item.getKey())))
+            Identifier.forget(map);
+        if (ascending != null && map instanceof SequencedMap<?, ?> && sortNow())
+            sort(map, ascending);
+    }
+
+    private static void logUnknown(final Object item) {
+        if (!(item instanceof Date
+            || item instanceof Boolean
+            || item instanceof Number
+            || item instanceof CharSequence
+            || item instanceof ArrayNode
+            || item instanceof ObjectNode
+            || item instanceof TemporalAccessor
+            || item instanceof Enum<?>
+            || TreeNode.class.isAssignableFrom(item.getClass()))
+        ) {
+            System.out.println("[DEBUG] Unknown type [" + item.getClass() + "]");
+        }
+    }
+
     private static void filterAndRemoveOp(final Paths paths) {
         if (paths != null) {
             paths.values().forEach(item -> ofNullable(item).ifPresent(pathItem -> {
@@ -493,31 +831,54 @@ public class Merger {
                 filterAndRemoveOp(pathItem::getTrace, pathItem::setTrace);
             }));
             // Remove empty and glob paths
+            final GlobMatcher remove = removeGlob();
             paths.entrySet().removeIf(entry ->
                 ofNullable(entry.getValue()).filter(item -> item.readOperations() == null || item.readOperations().isEmpty()).isPresent()
-                    || ofNullable(entry.getValue()).map(Identifier::getKeys).filter(item -> Arrays.stream(item).anyMatch(Util::matchesRemoveGlob)).isPresent()
+                    || !remove.isEmpty() && ofNullable(entry.getValue()).map(Identifier::getKeys).filter(item -> Arrays.stream(item).anyMatch(remove::matches)).isPresent()
             );
         }
     }
 
     private static void filterAndRemoveOp(final Supplier<Operation> getOp, final Consumer<Operation> setOp) {
-        ofNullable(getOp).map(Supplier::get).filter(op -> ofNullable(op.getTags()).map(tags -> tags.stream().anyMatch(Util::matchesRemoveGlob)).orElse(false)).ifPresent(op -> setOp.accept(null));
+        ofNullable(getOp).map(Supplier::get).filter(Merger::hasRemoveTag).ifPresent(op -> setOp.accept(null));
+    }
+
+    private static boolean hasRemoveTag(final Operation op) {
+        return ofNullable(op.getTags()).map(tags -> tags.stream().anyMatch(Util::matchesRemoveGlob)).orElse(false);
     }
 
     private static boolean shouldRemove(final Object item) {
-        return ofNullable(Identifier.getKeys(item)).map(keys -> Arrays.stream(keys).anyMatch(Util::matchesRemoveGlob)).orElse(false);
+        final GlobMatcher remove = removeGlob();
+        return !remove.isEmpty() && ofNullable(Identifier.getKeys(item)).map(keys -> Arrays.stream(keys).anyMatch(remove::matches)).orElse(false);
     }
 
     private static void sort(final Collection<Object> list, final boolean ascending) {
-        ((List<Object>) list).sort((o1, o2) -> ascending ? Identifier.compareKeys(o1, o2) : Identifier.compareKeys(o2, o1));
+        final List<SortKey<Object>> sortKeys = list.stream().map(item -> new SortKey<>(item, item)).sorted(SortKey.comparator(ascending)).toList();
+        final ListIterator<Object> iterator = ((List<Object>) list).listIterator();
+        for (final SortKey<Object> sortKey : sortKeys) {
+            iterator.next();
+            iterator.set(sortKey.item());
+        }
     }
 
     private static <K, V> void sort(final Map<K, V> map, final boolean ascending) {
-        List<Map.Entry<K, V>> sortedEntries = new ArrayList<>(map.entrySet());
-        sortedEntries.sort((entry1, entry2) -> ascending ? Identifier.compareKeys(entry1.getKey(), entry2.getKey()) : Identifier.compareKeys(entry2.getKey(), entry1.getKey()));
-
+        final List<SortKey<Map.Entry<K, V>>> sortedEntries = map.entrySet().stream().map(entry -> new SortKey<>(entry.getKey(), (Map.Entry<K, V>) new AbstractMap.SimpleImmutableEntry<>(entry))).sorted(SortKey.comparator(ascending)).toList();
         map.clear();
-        sortedEntries.forEach(entry -> map.put(entry.getKey(), entry.getValue()));
+        sortedEntries.forEach(entry -> map.put(entry.item().getKey(), entry.item().getValue()));
+    }
+
+    // identifier keys computed once per element before sorting
+    private record SortKey<T>(Object key, String[] keys, T item) {
+
+        private SortKey(final Object key, final T item) {
+            this(key, Identifier.getKeys(key), item);
+        }
+
+        private static <T> Comparator<SortKey<T>> comparator(final boolean ascending) {
+            return ascending
+                ? (s1, s2) -> Identifier.compareKeys(s1.key, s1.keys, s2.key, s2.keys)
+                : (s1, s2) -> Identifier.compareKeys(s2.key, s2.keys, s1.key, s1.keys);
+        }
     }
 
     private static Components mergeComponents(final Components oldComp, final Components newComp) {
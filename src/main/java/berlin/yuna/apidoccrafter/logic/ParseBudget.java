@@ -0,0 +1,162 @@
+package berlin.yuna.apidoccrafter.logic;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Time budget of a single file parse.
+ * Limits the whole file (deadline) and every single parser strategy. Strategies which exceed the budget are cancelled and abandoned.
+ * Abandoned strategies may keep running until the parser notices the interrupt, see {@link #whenDone(Runnable)}.
+ * Records every strategy run as {@link StrategyStats.Attempt}.
+ * <p>Suppressions</p>
+ * <ul>
+ *     <li>S106 = System.out.println is used - That is okay as it's not a production code</li>
+ * </ul>
+ */
+@SuppressWarnings("java:S106")
+public class ParseBudget {
+
+    private static final long UNLIMITED = Long.MAX_VALUE;
+    private final long deadline;
+    private final long strategyTimeout;
+    private final List<StrategyStats.Attempt> attempts = new ArrayList<>();
+    // the owner of the budget plus the running strategy threads
+    private final AtomicInteger running = new AtomicInteger(1);
+    private volatile Runnable onDone;
+    private volatile boolean timedOut;
+
+    /**
+     * @return A budget without limits, strategies run on the calling thread.
+     */
+    public static ParseBudget unlimited() {
+        return new ParseBudget(null, null);
+    }
+
+    /**
+     * Creates a budget which starts now.
+     *
+     * @param fileTimeout     The time budget of the whole file, null or non-positive = unlimited.
+     * @param strategyTimeout The time budget of a single strategy, null or non-positive = unlimited.
+     * @return The parse budget.
+     */
+    public static ParseBudget of(final Duration fileTimeout, final Duration strategyTimeout) {
+        return new ParseBudget(fileTimeout, strategyTimeout);
+    }
+
+    /**
+     * @return true if any limit is set.
+     */
+    public boolean isLimited() {
+        return deadline != UNLIMITED || strategyTimeout != UNLIMITED;
+    }
+
+    /**
+     * @return true if the file deadline has passed.
+     */
+    public boolean isExpired() {
+        return deadline != UNLIMITED && System.nanoTime() - deadline >= 0;
+    }
+
+    /**
+     * @return true if a strategy was abandoned or the file deadline has passed.
+     */
+    public boolean timedOut() {
+        return timedOut || isExpired();
+    }
+
+    /**
+     * @return The strategy runs in execution order.
+     */
+    public List<StrategyStats.Attempt> attempts() {
+        return List.copyOf(attempts);
+    }
+
+    /**
+     * Runs the action once the owner is done with the budget and all strategy threads have finished, including abandoned ones.
+     * Must be called once by the owner of the budget after the last {@link #run(String, Processor.SourceFile, Supplier)}.
+     *
+     * @param action The action to run, e.g. releasing the heap weight of the file.
+     */
+    public void whenDone(final Runnable action) {
+        onDone = action;
+        finished();
+    }
+
+    /**
+     * Runs a strategy within the budget on a virtual thread and records the attempt.
+     * Runs on the calling thread if the budget has no limits.
+     *
+     * @param name   The strategy name used for logging.
+     * @param source The file which is parsed.
+     * @param task   The strategy task.
+     * @return The task result or null if the task failed or exceeded the budget.
+     */
+    public Processor.ParseResult run(final String name, final Processor.SourceFile source, final Supplier<Processor.ParseResult> task) {
+        final long start = System.nanoTime();
+        if (!isLimited())
+            return record(name, start, task.get());
+        if (isExpired()) {
+            timedOut = true;
+            return null;
+        }
+        final FutureTask<Processor.ParseResult> future = new FutureTask<>(task::get);
+        running.incrementAndGet();
+        Thread.ofVirtual().name("adc-parser-" + name).start(() -> {
+            try {
+                future.run();
+            } finally {
+                finished();
+            }
+        });
+        try {
+            return record(name, start, future.get(remaining(), TimeUnit.NANOSECONDS));
+        } catch (final TimeoutException e) {
+            future.cancel(true);
+            timedOut = true;
+            attempts.add(new StrategyStats.Attempt(name, System.nanoTime() - start, 0, StrategyStats.Outcome.TIMEOUT));
+            System.err.println("[WARN] Parser [" + name + "] timed out file [" + source.path() + "]");
+            return null;
+        } catch (final InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (final ExecutionException e) {
+            return record(name, start, null);
+        }
+    }
+
+    private void finished() {
+        if (running.decrementAndGet() == 0 && onDone != null)
+            onDone.run();
+    }
+
+    private Processor.ParseResult record(final String name, final long start, final Processor.ParseResult result) {
+        final boolean failed = result == null || result.api() == null || result.score() <= 0;
+        attempts.add(new StrategyStats.Attempt(name, System.nanoTime() - start, failed ? 0 : result.score(), failed ? StrategyStats.Outcome.FAILED : StrategyStats.Outcome.OK));
+        return result;
+    }
+
+    private long remaining() {
+        final long now = System.nanoTime();
+        if (deadline == UNLIMITED)
+            return strategyTimeout;
+        return Math.max(0, Math.min(strategyTimeout, deadline - now));
+    }
+
+    private static long nanosOf(final Duration duration) {
+        return duration == null || duration.isZero() || duration.isNegative() ? UNLIMITED : duration.toNanos();
+    }
+
+    private ParseBudget(final Duration fileTimeout, final Duration strategyTimeout) {
+        final long fileNanos = nanosOf(fileTimeout);
+        this.deadline = fileNanos == UNLIMITED ? UNLIMITED : System.nanoTime() + fileNanos;
+        this.strategyTimeout = nanosOf(strategyTimeout);
+    }
+}
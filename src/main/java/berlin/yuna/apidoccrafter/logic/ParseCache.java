@@ -0,0 +1,235 @@
+package berlin.yuna.apidoccrafter.logic;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.swagger.v3.core.util.ObjectMapperFactory;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.SpecVersion;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static berlin.yuna.apidoccrafter.util.Util.sha256;
+
+/**
+ * Persistent content-addressed cache for parsed OpenAPI files.
+ * Stores the winning {@link Processor.ParseResult} of a file as Smile (binary JSON) so unchanged files skip all parser strategies.
+ *
+ * <p>Entries are keyed by the SHA-256 of the file bytes, the parser strategy key (including the file encoding the bytes are decoded with) and the tool version.
+ * The tool version consists of the versions of this tool, the swagger parser and jackson, written to {@code api-doc-crafter.properties} by the build.
+ * Builds without resource filtering, e.g. IDE runs, use a random version, so their entries are never reused by another run.
+ * The cache size is bounded by {@link #evict(Path, long)} which removes the least recently used entries (by modification time, refreshed on every hit).</p>
+ * <p>Files with external {@code $ref}s are not cached, as their result depends on other files.</p>
+ * <p>Suppressions</p>
+ * <ul>
+ *     <li>S106 = System.out.println is used - That is okay as it's not a production code</li>
+ * </ul>
+ */
+@SuppressWarnings("java:S106")
+public class ParseCache {
+
+    // increase when the entry format changes
+    private static final int FORMAT_VERSION = 1;
+    private static final String ENTRY_SUFFIX = ".adc";
+    // filtered by the build, see pom.xml
+    private static final String VERSION_RESOURCE = "api-doc-crafter.properties";
+    private static final String TOOL_VERSION = readToolVersion();
+    private static final ObjectMapper SMILE_MAPPER = ObjectMapperFactory.createJson(new SmileFactory());
+    private static final ObjectMapper SMILE_MAPPER_31 = ObjectMapperFactory.createJson31(new SmileFactory());
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+    private static final AtomicLong EVICTED = new AtomicLong();
+
+    /**
+     * Computes the cache key of a file.
+     *
+     * @param fileHash    The SHA-256 of the file bytes, see {@link Processor.SourceFile#sha256()}.
+     * @param strategyKey The parser strategy key (file encoding, parse mode, required sections, enabled parsers).
+     * @return The hex encoded cache key.
+     */
+    public static String key(final String fileHash, final String strategyKey) {
+        return sha256((fileHash + "\0" + strategyKey + "\0" + TOOL_VERSION + "\0" + FORMAT_VERSION).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return The tool version which is part of every cache key.
+     */
+    public static String toolVersion() {
+        return TOOL_VERSION;
+    }
+
+    private static String readToolVersion() {
+        final Properties properties = new Properties();
+        try (final InputStream stream = ParseCache.class.getClassLoader().getResourceAsStream(VERSION_RESOURCE)) {
+            if (stream != null)
+                properties.load(stream);
+        } catch (final IOException ignored) {
+            // random version below
+        }
+        final String result = new TreeMap<>(properties).toString();
+        return properties.isEmpty() || result.contains("${") ? UUID.randomUUID().toString() : result;
+    }
+
+    /**
+     * Reads a cached parse result. Corrupt entries are deleted.
+     *
+     * @param cacheDir The cache directory.
+     * @param key      The cache key, see {@link #key(String, String)}.
+     * @param file     The file the entry belongs to.
+     * @return The cached parse result (parser name prefixed with {@code cache.}) or empty on a cache miss.
+     */
+    public static Optional<Processor.ParseResult> read(final Path cacheDir, final String key, final Path file) {
+        final Path entry = entryOf(cacheDir, key);
+        if (!Files.isRegularFile(entry)) {
+            MISSES.incrementAndGet();
+            return Optional.empty();
+        }
+        try (final InputStream stream = new BufferedInputStream(Files.newInputStream(entry))) {
+            final DataInputStream header = new DataInputStream(stream);
+            final boolean openapi31 = header.readBoolean();
+            final String parserName = header.readUTF();
+            final int score = header.readInt();
+            final OpenAPI api = (openapi31 ? SMILE_MAPPER_31 : SMILE_MAPPER).readValue(stream, OpenAPI.class);
+            if (openapi31)
+                api.setSpecVersion(SpecVersion.V31);
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+            HITS.incrementAndGet();
+            return Optional.of(new Processor.ParseResult("cache." + parserName, file, api, score));
+        } catch (final Exception e) {
+            System.err.println("[WARN] Dropped corrupt cache entry [" + entry + "] cause [" + e.getClass().getSimpleName() + "] message [" + e.getMessage() + "]");
+            delete(entry);
+            MISSES.incrementAndGet();
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes a parse result to the cache. The entry is written to a temp file first and moved atomically.
+     *
+     * @param cacheDir The cache directory.
+     * @param key      The cache key, see {@link #key(String, String)}.
+     * @param result   The parse result to cache.
+     */
+    public static void write(final Path cacheDir, final String key, final Processor.ParseResult result) {
+        final Path entry = entryOf(cacheDir, key);
+        Path tmp = null;
+        try {
+            Files.createDirectories(entry.getParent());
+            tmp = Files.createTempFile(entry.getParent(), key, ".tmp");
+            final boolean openapi31 = result.api().getSpecVersion() == SpecVersion.V31;
+            try (final OutputStream stream = new BufferedOutputStream(Files.newOutputStream(tmp))) {
+                final DataOutputStream header = new DataOutputStream(stream);
+                header.writeBoolean(openapi31);
+                header.writeUTF(result.parserName());
+                header.writeInt(result.score());
+                (openapi31 ? SMILE_MAPPER_31 : SMILE_MAPPER).writeValue(stream, result.api());
+            }
+            Files.move(tmp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final Exception e) {
+            System.err.println("[WARN] Failed to write cache entry [" + entry + "] cause [" + e.getClass().getSimpleName() + "] message [" + e.getMessage() + "]");
+            if (tmp != null)
+                delete(tmp);
+        }
+    }
+
+    /**
+     * Removes the least recently used entries until the cache fits into the given size.
+     *
+     * @param cacheDir The cache directory.
+     * @param maxBytes The maximum cache size in bytes.
+     * @return The number of removed entries.
+     */
+    public static long evict(final Path cacheDir, final long maxBytes) {
+        if (cacheDir == null || !Files.isDirectory(cacheDir))
+            return 0;
+        try (final Stream<Path> files = Files.walk(cacheDir, 2)) {
+            final List<Map.Entry<Path, BasicFileAttributes>> entries = files
+                .filter(path -> path.getFileName().toString().endsWith(ENTRY_SUFFIX))
+                .map(ParseCache::attributesOf)
+                .flatMap(Optional::stream)
+                .sorted(Comparator.comparing(entry -> entry.getValue().lastModifiedTime()))
+                .toList();
+            long size = entries.stream().mapToLong(entry -> entry.getValue().size()).sum();
+            long removed = 0;
+            for (final Map.Entry<Path, BasicFileAttributes> entry : entries) {
+                if (size <= maxBytes)
+                    break;
+                if (delete(entry.getKey())) {
+                    size -= entry.getValue().size();
+                    removed++;
+                }
+            }
+            EVICTED.addAndGet(removed);
+            return removed;
+        } catch (final IOException e) {
+            System.err.println("[WARN] Failed to evict cache [" + cacheDir + "] cause [" + e.getClass().getSimpleName() + "] message [" + e.getMessage() + "]");
+            return 0;
+        }
+    }
+
+    public static long hits() {
+        return HITS.get();
+    }
+
+    public static long misses() {
+        return MISSES.get();
+    }
+
+    public static long evicted() {
+        return EVICTED.get();
+    }
+
+    /**
+     * Resets the hit, miss and eviction counters.
+     */
+    public static void resetCounters() {
+        HITS.set(0);
+        MISSES.set(0);
+        EVICTED.set(0);
+    }
+
+    private static Path entryOf(final Path cacheDir, final String key) {
+        // two character fan out keeps the directories small
+        return cacheDir.resolve(key.substring(0, 2)).resolve(key + ENTRY_SUFFIX);
+    }
+
+    private static Optional<Map.Entry<Path, BasicFileAttributes>> attributesOf(final Path path) {
+        try {
+            return Optional.of(Map.entry(path, Files.readAttributes(path, BasicFileAttributes.class)));
+        } catch (final IOException ignored) {
+            return Optional.empty();
+        }
+    }
+
+    private static boolean delete(final Path path) {
+        try {
+            return Files.deleteIfExists(path);
+        } catch (final IOException ignored) {
+            return false;
+        }
+    }
+
+    private ParseCache() {
+        // Utility class
+    }
+}
@@ -1,8 +1,15 @@
 package berlin.yuna.apidoccrafter.logic;
 
+import berlin.yuna.apidoccrafter.config.Identifier;
 import berlin.yuna.apidoccrafter.util.ExFunction;
+import berlin.yuna.apidoccrafter.util.FileCleaner;
+import berlin.yuna.apidoccrafter.util.PathFilter;
+import berlin.yuna.apidoccrafter.util.Util;
 import berlin.yuna.typemap.logic.ArgsDecoder;
 import io.swagger.parser.OpenAPIParser;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.parser.SwaggerResolver;
+import io.swagger.parser.util.SwaggerDeserializationResult;
 import io.swagger.v3.oas.models.ExternalDocumentation;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Contact;
@@ -11,22 +18,53 @@ import io.swagger.v3.oas.models.info.License;
 import io.swagger.v3.oas.models.servers.Server;
 import io.swagger.v3.oas.models.tags.Tag;
 import io.swagger.v3.parser.OpenAPIV3Parser;
+import io.swagger.v3.parser.converter.SwaggerConverter;
+import io.swagger.v3.parser.core.extensions.SwaggerParserExtension;
 import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.Semaphore;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static berlin.yuna.apidoccrafter.config.Config.CONFIG_PREFIX;
 import static berlin.yuna.apidoccrafter.config.Config.ENABLE_CUSTOM_INFO;
+import static berlin.yuna.apidoccrafter.config.Config.MERGE_THREADS;
+import static berlin.yuna.apidoccrafter.config.Config.MERGE_TREE_THRESHOLD;
+import static berlin.yuna.apidoccrafter.config.Config.PARSE_EXECUTOR;
+import static berlin.yuna.apidoccrafter.config.Config.PARSE_EXECUTOR_POOL;
+import static berlin.yuna.apidoccrafter.config.Config.PARSE_EXECUTOR_VIRTUAL;
+import static berlin.yuna.apidoccrafter.config.Config.PARSE_MODE;
+import static berlin.yuna.apidoccrafter.config.Config.PARSE_MODE_CASCADE;
+import static berlin.yuna.apidoccrafter.config.Config.PARSE_MODE_STRICT;
+import static berlin.yuna.apidoccrafter.config.Config.PARSE_ORDER;
+import static berlin.yuna.apidoccrafter.config.Config.PARSE_ORDER_ADAPTIVE;
+import static berlin.yuna.apidoccrafter.config.Config.PARSE_ORDER_STATIC;
+import static berlin.yuna.apidoccrafter.config.Config.PARSE_REQUIRE;
+import static berlin.yuna.apidoccrafter.config.Config.PARSE_THREADS;
+import static berlin.yuna.apidoccrafter.config.Config.PARSE_TIMEOUT;
+import static berlin.yuna.apidoccrafter.config.Config.PARSER_REPORT;
+import static berlin.yuna.apidoccrafter.config.Config.RESOLVE_EXT_REFS;
+import static berlin.yuna.apidoccrafter.config.Config.SNIFF_FILES;
+import static berlin.yuna.apidoccrafter.config.Config.STRATEGY_TIMEOUT;
 import static berlin.yuna.apidoccrafter.config.Config.config;
-import static berlin.yuna.apidoccrafter.util.FileCleaner.cleanFile;
+import static berlin.yuna.apidoccrafter.config.Config.getCacheDir;
+import static berlin.yuna.apidoccrafter.config.Config.getRefCacheMaxBytes;
+import static berlin.yuna.apidoccrafter.config.Config.settings;
 import static berlin.yuna.apidoccrafter.util.Util.SPLIT_REGEX;
 import static berlin.yuna.apidoccrafter.util.Util.SPLIT_REGEX_WITH_COMMA;
-import static berlin.yuna.apidoccrafter.util.Util.matchesGlob;
 import static berlin.yuna.apidoccrafter.util.Util.matchesStringGlob;
 import static berlin.yuna.apidoccrafter.util.Util.nothing;
 import static berlin.yuna.apidoccrafter.util.Util.safeJsonMapper;
@@ -64,9 +102,74 @@ import static java.util.stream.Collectors.toUnmodifiableSet;
 @SuppressWarnings({"java:S106", "java:S3358", "java:S1874"})
 public class Processor {
 
-    public record ParseResult(String parserName, Path file, OpenAPI api, int jsonSize) {
+    /**
+     * The result of a parser strategy.
+     *
+     * @param parserName The name of the parser strategy.
+     * @param file       The parsed file.
+     * @param api        The parsed OpenAPI.
+     * @param score      The structural score of the parsed OpenAPI, see {@link ApiScore#score(OpenAPI)}.
+     */
+    public record ParseResult(String parserName, Path file, OpenAPI api, int score) {
+    }
+
+    /**
+     * A named parser strategy.
+     *
+     * @param name    The name of the strategy used for logging.
+     * @param cleaned Whether the strategy reads the {@link FileCleaner} output instead of the original content.
+     * @param parser  The parser function.
+     */
+    public record ParserStrategy(String name, boolean cleaned, ExFunction<SourceFile, OpenAPI> parser) {
+    }
+
+    /**
+     * The content of an input file, read once and shared by all parser strategies.
+     *
+     * @param path    The path of the file, used as parser location to resolve relative references.
+     * @param content The decoded file content.
+     * @param sha256  The SHA-256 of the file bytes as read from disk, null if the content doesn't come from a file e.g. after {@link #clean()}.
+     */
+    public record SourceFile(Path path, String content, String sha256) {
+
+        /**
+         * @param path    The path to the file.
+         * @param content The file content.
+         */
+        public SourceFile(final Path path, final String content) {
+            this(path, content, null);
+        }
+
+        /**
+         * Reads a file with the configured encoding.
+         *
+         * @param path The path to the file.
+         * @return The source file with the SHA-256 of the file bytes.
+         * @throws IOException if the file can't be read.
+         */
+        public static SourceFile read(final Path path) throws IOException {
+            final byte[] bytes = Files.readAllBytes(path);
+            return new SourceFile(path, new String(bytes, settings().encoding()), Util.sha256(bytes));
+        }
+
+        public String location() {
+            return path.toString();
+        }
+
+        public boolean hasExternalRefs() {
+            return Util.hasExternalRefs(content);
+        }
+
+        /**
+         * @return A copy with the {@link FileCleaner} output as content.
+         */
+        public SourceFile clean() {
+            return new SourceFile(path, FileCleaner.clean(content));
+        }
     }
 
+    private static final Set<Path> TIMED_OUT = ConcurrentHashMap.newKeySet();
+
     /**
      * Enriches the given OpenAPI specification with custom metadata based on external configuration.
      * <p>
@@ -139,6 +242,8 @@ public class Processor {
 
     /**
      * Reads OpenAPI files from the specified directory, filtering by patterns and depth.
+     * Files are parsed in parallel on the {@code parse_executor} with at most {@code parse_threads} files at the same time.
+     * The result and the log output keep the sorted file order.
      *
      * @param inputDir       The root directory to search for files.
      * @param maxDeep        The maximum directory depth to search.
@@ -148,74 +253,269 @@ public class Processor {
      */
     public static Map<Path, OpenAPI> readOpenApiFiles(final Path inputDir, final boolean enableObjectMapper, final int maxDeep, final String includePattern, final String excludePattern) {
         final Map<Path, OpenAPI> result = new TreeMap<>();
-        try (final Stream<Path> files = Files.walk(inputDir, maxDeep)) {
-            files.sorted()
-                .filter(Files::isRegularFile)
+        ParseCache.resetCounters();
+        ExternalRefCache.reset();
+        ApiSniffer.resetCounters();
+        TIMED_OUT.clear();
+        HeapGovernor.resetCounters();
+        StrategyStats.reset();
+        ofNullable(getCacheDir()).ifPresent(StrategyStats::load);
+        if (getCacheDir() == null && PARSE_MODE_CASCADE.equals(parseMode()) && PARSE_ORDER_ADAPTIVE.equals(parseOrder()))
+            System.err.println("[WARN] parse_order [" + PARSE_ORDER_ADAPTIVE + "] needs cache_dir to persist the parser wins, using the static order");
+        try (final ExecutorService executor = parseExecutor()) {
+            final Semaphore permits = new Semaphore(parseThreads());
+            final List<Map.Entry<Path, Future<Optional<ParseResult>>>> futures = PathFilter.of(includePattern, excludePattern).walk(inputDir, maxDeep).stream()
                 .filter(path -> path.toString().endsWith(".yml") || path.toString().endsWith(".yaml") || path.toString().endsWith(".json"))
-                .filter(path -> includePattern == null || matchesGlob(path, includePattern))
-                .filter(path -> excludePattern == null || !matchesGlob(path, excludePattern))
-                .map(path -> Processor.toOpenAPIFile(enableObjectMapper, path))
-                .filter(Objects::nonNull)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .forEach(oaf -> result.put(oaf.getKey(), oaf.getValue()));
+                .map(path -> Map.entry(path, executor.submit(() -> parseLimited(permits, enableObjectMapper, path))))
+                .toList();
+            // collect in submit order to keep the result and log order deterministic
+            for (final Map.Entry<Path, Future<Optional<ParseResult>>> future : futures)
+                awaitParseResult(future.getKey(), future.getValue()).ifPresent(pr -> result.put(future.getKey(), logParseResult(future.getKey(), pr).api()));
         } catch (final Exception e) {
             System.err.println("[FATAL] Failed to read OpenAPI files: " + e.getMessage());
         }
+        ofNullable(getCacheDir()).ifPresent(StrategyStats::save);
         return result;
     }
 
     /**
      * Converts a file path to an OpenAPI object if the file is a valid OpenAPI definition.
+     * The parser strategies are applied according to {@code parse_mode}:
+     * <ul>
+     *     <li>{@code strict} (default) runs all strategies and keeps the result with the highest structural score.</li>
+     *     <li>{@code cascade} runs the strategies in order and accepts the first result which passes {@link #isComplete(OpenAPI, Collection)}.
+     *     Escalates to the cleaned, legacy and ObjectMapper strategies only when the earlier results look degraded.</li>
+     * </ul>
+     * When {@code cache_dir} is set, unchanged files are read from the {@link ParseCache} instead.
      *
      * @param filePath The path to the file.
      * @return An optional containing the file path and OpenAPI object.
      */
     public static Optional<Map.Entry<Path, OpenAPI>> toOpenAPIFile(final boolean enableObjectMapper, final Path filePath) {
-        final Path cleanFile = cleanFile(filePath);
-        return Stream.of(
-                parseWith(OpenAPIV3Parser.class.getSimpleName(), p -> new OpenAPIV3Parser().readLocation(p.toString(), null, null).getOpenAPI(), filePath),
-                parseWith(OpenAPIParser.class.getSimpleName(), p -> new OpenAPIParser().readLocation(p.toString(), null, null).getOpenAPI(), filePath),
-                parseWith("modified." + OpenAPIV3Parser.class.getSimpleName(), p -> new OpenAPIV3Parser().readLocation(p.toString(), null, null).getOpenAPI(), cleanFile),
-                parseWith("modified." + OpenAPIParser.class.getSimpleName(), p -> new OpenAPIParser().readLocation(p.toString(), null, null).getOpenAPI(), cleanFile),
-                parseWith("legacy." + OpenAPIParser.class.getSimpleName(), p -> {
-                    final ParseOptions options = new ParseOptions();
-                    options.setLegacyYamlDeserialization(true);
-                    options.setValidateInternalRefs(false);
-                    options.setValidateExternalRefs(false);
-                    return new OpenAPIParser().readLocation(p.toString(), null, options).getOpenAPI();
-                }, cleanFile),
-                !enableObjectMapper ? null : parseWith("Json." + safeJsonMapper.getClass().getSimpleName(), p -> safeJsonMapper.readValue(Files.readString(p), OpenAPI.class), filePath),
-                !enableObjectMapper ? null : parseWith("Yaml." + safeYamlMapper.getClass().getSimpleName(), p -> safeYamlMapper.readValue(Files.readString(p), OpenAPI.class), filePath)
-            )
-            .parallel()
-            .filter(Objects::nonNull)
-            .filter(pr -> pr.api() != null && pr.jsonSize() > 20) // 20 == empty OpenAPI file
-            .max(Comparator.comparingInt(ParseResult::jsonSize))
-            .map(pr -> {
-                System.out.println("[INFO] Read"
-                    + " parser [" + pr.parserName() + "]"
-                    + " info [" + ofNullable(pr.api())
-                    .map(OpenAPI::getInfo)
-                    .flatMap(info -> ofNullable(info.getTitle())
-                        .or(() -> ofNullable(info.getSummary()))
-                        .or(() -> ofNullable(info.getDescription())))
-                    .or(() -> ofNullable(pr.api())
-                        .map(OpenAPI::getTags)
-                        .map(tags -> tags.stream().map(Tag::getName).filter(Objects::nonNull).distinct().collect(Collectors.joining(",")))
-                    ).orElse(null) + "]"
-                    + " length [" + pr.jsonSize() + "]"
-                    + " file [" + filePath + "]"
-                );
-                return new AbstractMap.SimpleImmutableEntry<>(filePath, pr.api());
-            })
-            ;
+        return parseCached(enableObjectMapper, filePath)
+            .map(pr -> new AbstractMap.SimpleImmutableEntry<>(filePath, logParseResult(filePath, pr).api()));
     }
 
-    public static ParseResult parseWith(final String name, final ExFunction<Path, OpenAPI> parser, final Path file) {
+    /**
+     * Parses a file with the configured parse mode, using the {@link ParseCache} if {@code cache_dir} is set.
+     * Files with external references are always parsed, as their result depends on other files.
+     * Their references are resolved once after parsing with the shared {@link ExternalRefCache} if {@code resolve_ext_refs} is enabled.
+     * Files rejected by the {@link ApiSniffer} are skipped if {@code sniff_files} is enabled.
+     *
+     * @param enableObjectMapper Adds the ObjectMapper strategies.
+     * @param filePath           The path to the file.
+     * @return The parse result or empty if no strategy succeeded.
+     */
+    public static Optional<ParseResult> parseCached(final boolean enableObjectMapper, final Path filePath) {
+        return parseCached(enableObjectMapper, filePath, parseBudget());
+    }
+
+    /**
+     * Parses a file like {@link #parseCached(boolean, Path)} within the given budget.
+     *
+     * @param enableObjectMapper Adds the ObjectMapper strategies.
+     * @param filePath           The path to the file.
+     * @param budget             The time budget of the file.
+     * @return The parse result or empty if no strategy succeeded.
+     */
+    public static Optional<ParseResult> parseCached(final boolean enableObjectMapper, final Path filePath, final ParseBudget budget) {
+        final SourceFile source;
         try {
-            final OpenAPI api = parser.apply(file);
-            return new ParseResult(name, file, api, safeJsonMapper.writeValueAsString(api).length());
+            source = SourceFile.read(filePath);
+        } catch (final IOException e) {
+            System.err.println("[ERROR] Failed to read [" + filePath + "] cause [" + e.getClass().getSimpleName() + "] message [" + e.getMessage() + "]");
+            return Optional.empty();
+        }
+        final Optional<ApiSniffer.Spec> spec = needsSpec() ? ApiSniffer.sniff(source.content()) : Optional.empty();
+        if (config().asBooleanOpt(SNIFF_FILES).orElse(false) && spec.isEmpty()) {
+            System.out.println("[DEBUG] Skip non OpenAPI file [" + filePath + "]");
+            ApiSniffer.skip();
+            return Optional.empty();
+        }
+        final String specKey = StrategyStats.specKey(spec.orElse(null));
+        final Path cacheDir = getCacheDir();
+        if (source.hasExternalRefs() && config().asBooleanOpt(RESOLVE_EXT_REFS).orElse(false))
+            return parse(enableObjectMapper, source, specKey, budget).map(pr -> new ParseResult(pr.parserName(), pr.file(), ExternalRefCache.resolve(source, pr.api(), getRefCacheMaxBytes()), pr.score()));
+        if (cacheDir == null || source.hasExternalRefs())
+            return parse(enableObjectMapper, source, specKey, budget);
+        final String key = ParseCache.key(source.sha256(), strategyKey(enableObjectMapper, specKey));
+        return ParseCache.read(cacheDir, key, filePath).or(() -> {
+            final Optional<ParseResult> result = parse(enableObjectMapper, source, specKey, budget);
+            // results of abandoned strategies depend on the machine load
+            if (!budget.timedOut())
+                result.ifPresent(pr -> ParseCache.write(cacheDir, key, pr));
+            return result;
+        });
+    }
+
+    /**
+     * Runs all parser strategies and keeps the result with the highest {@link ApiScore}.
+     *
+     * @param strategies The parser strategies to run.
+     * @param source     The file content.
+     * @return The highest scored parse result or empty if no strategy succeeded.
+     */
+    public static Optional<ParseResult> parseStrict(final List<ParserStrategy> strategies, final SourceFile source) {
+        return parseStrict(strategies, source, ParseBudget.unlimited());
+    }
+
+    /**
+     * Runs all parser strategies within the given budget and keeps the result with the highest {@link ApiScore}.
+     * Strategies exceeding the budget are abandoned, remaining strategies are skipped once the file deadline has passed.
+     *
+     * @param strategies The parser strategies to run.
+     * @param source     The file content.
+     * @param budget     The time budget of the file.
+     * @return The highest scored parse result or empty if no strategy succeeded.
+     */
+    public static Optional<ParseResult> parseStrict(final List<ParserStrategy> strategies, final SourceFile source, final ParseBudget budget) {
+        final SourceFile cleaned = strategies.stream().anyMatch(ParserStrategy::cleaned) ? source.clean() : source;
+        return strategies.stream()
+            .takeWhile(strategy -> !budget.isExpired())
+            .map(strategy -> budget.run(strategy.name(), source, () -> parseWith(strategy.name(), strategy.parser(), strategy.cleaned() ? cleaned : source)))
+            .filter(Processor::isValid)
+            .max(Comparator.comparingInt(ParseResult::score));
+    }
+
+    /**
+     * Runs the parser strategies in order and accepts the first result which contains all required sections.
+     * Falls back to the result with the highest {@link ApiScore} if no strategy delivers a complete result.
+     *
+     * @param strategies The parser strategies in escalation order.
+     * @param source     The file content.
+     * @param required   The sections a result needs to be accepted.
+     * @return The first complete or the highest scored parse result, empty if no strategy succeeded.
+     */
+    public static Optional<ParseResult> parseCascade(final List<ParserStrategy> strategies, final SourceFile source, final Collection<String> required) {
+        return parseCascade(strategies, source, required, ParseBudget.unlimited());
+    }
+
+    /**
+     * Runs the parser strategies in order within the given budget and accepts the first result which contains all required sections.
+     * Strategies exceeding the budget are abandoned, remaining strategies are skipped once the file deadline has passed.
+     *
+     * @param strategies The parser strategies in escalation order.
+     * @param source     The file content.
+     * @param required   The sections a result needs to be accepted.
+     * @param budget     The time budget of the file.
+     * @return The first complete or the highest scored parse result, empty if no strategy succeeded.
+     */
+    public static Optional<ParseResult> parseCascade(final List<ParserStrategy> strategies, final SourceFile source, final Collection<String> required, final ParseBudget budget) {
+        SourceFile cleaned = null;
+        ParseResult best = null;
+        for (final ParserStrategy strategy : strategies) {
+            if (budget.isExpired())
+                break;
+            if (strategy.cleaned() && cleaned == null)
+                cleaned = source.clean();
+            final SourceFile input = strategy.cleaned() ? cleaned : source;
+            final ParseResult result = budget.run(strategy.name(), source, () -> parseWith(strategy.name(), strategy.parser(), input));
+            if (!isValid(result))
+                continue;
+            if (isComplete(result.api(), required))
+                return Optional.of(result);
+            if (best == null || result.score() > best.score())
+                best = result;
+        }
+        return ofNullable(best);
+    }
+
+    /**
+     * Lists the parser strategies in escalation order.
+     * Plain parsers first, then parsers on the {@link FileCleaner} output, then legacy and ObjectMapper parsers.
+     * All strategies parse the in-memory {@link SourceFile} content, the file path is only used to resolve relative references.
+     *
+     * @param enableObjectMapper Adds the ObjectMapper strategies.
+     * @return The parser strategies.
+     */
+    public static List<ParserStrategy> parserStrategies(final boolean enableObjectMapper) {
+        final List<ParserStrategy> result = new ArrayList<>();
+        result.add(new ParserStrategy(OpenAPIV3Parser.class.getSimpleName(), false, s -> new OpenAPIV3Parser().readContents(s.content(), null, null, s.location()).getOpenAPI()));
+        result.add(new ParserStrategy(OpenAPIParser.class.getSimpleName(), false, s -> readContents(s, null)));
+        result.add(new ParserStrategy("modified." + OpenAPIV3Parser.class.getSimpleName(), true, s -> new OpenAPIV3Parser().readContents(s.content(), null, null, s.location()).getOpenAPI()));
+        result.add(new ParserStrategy("modified." + OpenAPIParser.class.getSimpleName(), true, s -> readContents(s, null)));
+        result.add(new ParserStrategy("legacy." + OpenAPIParser.class.getSimpleName(), true, s -> {
+            final ParseOptions options = new ParseOptions();
+            options.setLegacyYamlDeserialization(true);
+            options.setValidateInternalRefs(false);
+            options.setValidateExternalRefs(false);
+            return readContents(s, options);
+        }));
+        if (enableObjectMapper) {
+            result.add(new ParserStrategy("Json." + safeJsonMapper.getClass().getSimpleName(), false, s -> safeJsonMapper.readValue(s.content(), OpenAPI.class)));
+            result.add(new ParserStrategy("Yaml." + safeYamlMapper.getClass().getSimpleName(), false, s -> safeYamlMapper.readValue(s.content(), OpenAPI.class)));
+        }
+        return result;
+    }
+
+    /**
+     * Checks if the parsed OpenAPI contains all required sections.
+     * Unknown sections are ignored.
+     *
+     * @param api      The parsed OpenAPI.
+     * @param required The required sections [info, paths, components, schemas, tags, servers, security, webhooks].
+     * @return true if all required sections are present and not empty.
+     */
+    public static boolean isComplete(final OpenAPI api, final Collection<String> required) {
+        return api != null && required.stream().allMatch(section -> switch (section) {
+            case "info" -> api.getInfo() != null;
+            case "paths" -> api.getPaths() != null && !api.getPaths().isEmpty();
+            case "components" -> api.getComponents() != null;
+            case "schemas" -> api.getComponents() != null && api.getComponents().getSchemas() != null && !api.getComponents().getSchemas().isEmpty();
+            case "tags" -> api.getTags() != null && !api.getTags().isEmpty();
+            case "servers" -> api.getServers() != null && !api.getServers().isEmpty();
+            case "security" -> api.getSecurity() != null && !api.getSecurity().isEmpty();
+            case "webhooks" -> api.getWebhooks() != null && !api.getWebhooks().isEmpty();
+            default -> true;
+        });
+    }
+
+    /**
+     * In-memory equivalent of {@link OpenAPIParser#readLocation(String, List, ParseOptions)}.
+     * Tries all parser extensions (Swagger 2.0 converter, OpenAPI 3) and returns the first result.
+     * External references are resolved relative to the file location, the file itself is never read again:
+     * <ul>
+     *     <li>{@link OpenAPIV3Parser} parses the content with the file location.</li>
+     *     <li>{@link SwaggerConverter} parses Swagger 2.0 content and resolves it with the file location, like its {@code readLocation} does.
+     *     Swagger 1.2 is detected in memory ({@code swaggerVersion} key) and converted from the file location, as its API declarations are separate files.</li>
+     *     <li>Other extensions parse the content without a location.</li>
+     * </ul>
+     *
+     * @param source  The file content.
+     * @param options The parse options, null for defaults.
+     * @return The parsed OpenAPI or null if no extension could parse the content.
+     */
+    public static OpenAPI readContents(final SourceFile source, final ParseOptions options) {
+        for (final SwaggerParserExtension extension : OpenAPIV3Parser.getExtensions()) {
+            final SwaggerParseResult result = switch (extension) {
+                case final OpenAPIV3Parser parser -> parser.readContents(source.content(), null, options, source.location());
+                case final SwaggerConverter converter -> readSwagger(converter, source, options);
+                default -> extension.readContents(source.content(), null, options);
+            };
+            if (result != null && result.getOpenAPI() != null)
+                return result.getOpenAPI();
+        }
+        return null;
+    }
+
+    // Swagger 2.0 content, resolved with the file location as parent of relative references
+    private static SwaggerParseResult readSwagger(final SwaggerConverter converter, final SourceFile source, final ParseOptions options) {
+        final SwaggerDeserializationResult result = new SwaggerParser().readWithInfo(source.content(), false);
+        if (result == null || result.getSwagger() == null || !"2.0".equals(result.getSwagger().getSwagger()))
+            return isSwagger12(source) ? converter.readLocation(source.location(), null, options) : null;
+        if (options != null && options.isResolve())
+            result.setSwagger(new SwaggerResolver(result.getSwagger(), null, source.location()).resolve());
+        return converter.convert(result);
+    }
+
+    private static boolean isSwagger12(final SourceFile source) {
+        return ApiSniffer.sniff(source.content()).map(ApiSniffer.Spec::version).filter(version -> version.startsWith("1.")).isPresent();
+    }
+
+    public static ParseResult parseWith(final String name, final ExFunction<SourceFile, OpenAPI> parser, final SourceFile source) {
+        try {
+            final OpenAPI api = parser.apply(source);
+            return new ParseResult(name, source.path(), api, ApiScore.score(api));
         } catch (Exception ignored) {
             return null;
         }
@@ -262,6 +562,136 @@ public class Processor {
         return result;
     }
 
+    /**
+     * @return The files of the last {@link #readOpenApiFiles} run which exceeded the {@code parse_timeout} or {@code strategy_timeout}.
+     */
+    public static Set<Path> timedOutFiles() {
+        return new TreeSet<>(TIMED_OUT);
+    }
+
+    private static Optional<ParseResult> parseLimited(final Semaphore permits, final boolean enableObjectMapper, final Path filePath) throws InterruptedException {
+        permits.acquire();
+        try {
+            final long weight = HeapGovernor.acquire(HeapGovernor.sizeOf(List.of(filePath)));
+            final ParseBudget budget = parseBudget();
+            try {
+                return parseCached(enableObjectMapper, filePath, budget);
+            } finally {
+                // abandoned strategies still hold their models until they finish
+                budget.whenDone(() -> HeapGovernor.release(weight));
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static long acquireHeap(final Collection<Path> files) {
+        try {
+            return HeapGovernor.acquire(HeapGovernor.sizeOf(files));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+
+    private static Optional<ParseResult> awaitParseResult(final Path filePath, final Future<Optional<ParseResult>> future) {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return Optional.empty();
+        } catch (final ExecutionException e) {
+            System.err.println("[ERROR] Failed to parse OpenAPI file [" + filePath + "] cause [" + e.getCause().getClass().getSimpleName() + "] message [" + e.getCause().getMessage() + "]");
+            return Optional.empty();
+        }
+    }
+
+    private static ParseResult logParseResult(final Path filePath, final ParseResult pr) {
+        System.out.println("[INFO] Read"
+            + " parser [" + pr.parserName() + "]"
+            + " info [" + ofNullable(pr.api())
+            .map(OpenAPI::getInfo)
+            .flatMap(info -> ofNullable(info.getTitle())
+                .or(() -> ofNullable(info.getSummary()))
+                .or(() -> ofNullable(info.getDescription())))
+            .or(() -> ofNullable(pr.api())
+                .map(OpenAPI::getTags)
+                .map(tags -> tags.stream().map(Tag::getName).filter(Objects::nonNull).distinct().collect(Collectors.joining(",")))
+            ).orElse(null) + "]"
+            + " score [" + pr.score() + "]"
+            + " file [" + filePath + "]"
+        );
+        return pr;
+    }
+
+    private static ExecutorService parseExecutor() {
+        return PARSE_EXECUTOR_POOL.equals(config().asStringOpt(PARSE_EXECUTOR).map(String::trim).map(String::toLowerCase).orElse(PARSE_EXECUTOR_VIRTUAL))
+            ? Executors.newFixedThreadPool(parseThreads())
+            : Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    private static int parseThreads() {
+        return config().asIntOpt(PARSE_THREADS).filter(threads -> threads > 0).orElseGet(() -> Runtime.getRuntime().availableProcessors());
+    }
+
+    private static boolean isValid(final ParseResult result) {
+        return result != null && result.api() != null && result.score() > 0;
+    }
+
+    private static Optional<ParseResult> parse(final boolean enableObjectMapper, final SourceFile source, final String specKey, final ParseBudget budget) {
+        final Optional<ParseResult> result = PARSE_MODE_CASCADE.equals(parseMode())
+            ? parseCascade(orderedStrategies(enableObjectMapper, specKey), source, parseRequire(), budget)
+            : parseStrict(parserStrategies(enableObjectMapper), source, budget);
+        StrategyStats.record(source.path(), specKey, budget.attempts(), result.orElse(null));
+        if (budget.timedOut())
+            TIMED_OUT.add(source.path());
+        return result;
+    }
+
+    private static String parseOrder() {
+        return config().asStringOpt(PARSE_ORDER).map(String::trim).map(String::toLowerCase).orElse(PARSE_ORDER_STATIC);
+    }
+
+    private static ParseBudget parseBudget() {
+        return ParseBudget.of(
+            config().asLongOpt(PARSE_TIMEOUT).map(Duration::ofSeconds).orElse(null),
+            config().asLongOpt(STRATEGY_TIMEOUT).map(Duration::ofSeconds).orElse(null)
+        );
+    }
+
+    // the sniffed spec is only used to skip files, for the parser report and for the adaptive order, other files are recorded as unknown spec
+    private static boolean needsSpec() {
+        return config().asBooleanOpt(SNIFF_FILES).orElse(false)
+            || config().asBooleanOpt(PARSER_REPORT).orElse(false)
+            || PARSE_MODE_CASCADE.equals(parseMode()) && PARSE_ORDER_ADAPTIVE.equals(parseOrder());
+    }
+
+    // the adaptive order is frozen per run, see StrategyStats#load
+    private static List<ParserStrategy> orderedStrategies(final boolean enableObjectMapper, final String specKey) {
+        final List<ParserStrategy> strategies = parserStrategies(enableObjectMapper);
+        return PARSE_ORDER_ADAPTIVE.equals(parseOrder()) ? StrategyStats.order(strategies, specKey) : strategies;
+    }
+
+    // the file bytes are decoded with the configured encoding, see SourceFile#read
+    static String strategyKey(final boolean enableObjectMapper, final String specKey) {
+        return settings().encoding().name() + ":" + parseMode()
+            + (PARSE_MODE_CASCADE.equals(parseMode()) ? ":" + parseOrder() + ":" + parseRequire().stream().sorted().collect(Collectors.joining(",")) : "")
+            + ":" + (PARSE_MODE_CASCADE.equals(parseMode()) ? orderedStrategies(enableObjectMapper, specKey) : parserStrategies(enableObjectMapper)).stream().map(ParserStrategy::name).collect(Collectors.joining(","));
+    }
+
+    private static String parseMode() {
+        return config().asStringOpt(PARSE_MODE).map(String::trim).map(String::toLowerCase).orElse(PARSE_MODE_STRICT);
+    }
+
+    private static Set<String> parseRequire() {
+        return stream(config().asStringOpt(PARSE_REQUIRE).orElse("info|paths").split(SPLIT_REGEX_WITH_COMMA))
+            .filter(ArgsDecoder::hasText)
+            .map(String::trim)
+            .map(String::toLowerCase)
+            .collect(toUnmodifiableSet());
+    }
+
     private static List<Map<Path, OpenAPI>> groupFilesByTitle(final Map<Path, OpenAPI> files) {
         return files.entrySet().stream().collect(Collectors.groupingBy(
                 entry -> ofNullable(entry.getValue()).map(OpenAPI::getInfo).map(Info::getTitle).orElseGet(() -> UUID.randomUUID().toString()).toLowerCase(),
@@ -292,12 +722,27 @@ public class Processor {
 
     /**
      * Merges multiple OpenAPI files into a single OpenAPI object for each group.
+     * Groups share no state and are merged concurrently with at most {@code merge_threads} groups at the same time.
+     * The log output keeps the group order.
      *
      * @param groupedApis Collection of grouped OpenAPI maps.
      * @return A map of merged OpenAPI objects, keyed by their representative file paths.
      */
     public static Map<Path, OpenAPI> mergeApis(final Collection<Map<Path, OpenAPI>> groupedApis) {
-        return groupedApis.stream().map(Processor::mergeApis).sorted(Map.Entry.comparingByKey()) // Sort entries by Path keys
+        final int threads = Math.min(mergeThreads(), groupedApis.size());
+        final List<Map.Entry<Path, OpenAPI>> merged;
+        if (threads <= 1) {
+            merged = groupedApis.stream().map(Processor::mergeApis).toList();
+        } else {
+            try (final ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+                final List<Map.Entry<Map<Path, OpenAPI>, Future<Map.Entry<Path, OpenAPI>>>> futures = groupedApis.stream()
+                    .map(group -> Map.entry(group, executor.submit(() -> mergeGroup(group))))
+                    .toList();
+                // collect in submit order to keep the log order deterministic
+                merged = futures.stream().map(future -> awaitMergeResult(logMerge(future.getKey()), future.getValue())).toList();
+            }
+        }
+        return merged.stream().sorted(Map.Entry.comparingByKey()) // Sort entries by Path keys
             .collect(toMap(
                 Map.Entry::getKey,
                 Map.Entry::getValue,
@@ -308,15 +753,95 @@ public class Processor {
 
     /**
      * Merges APIs within a collection into a single API object.
+     * Groups with at least {@code merge_tree_threshold} files are merged as pairwise tree reduction on fork/join, see {@link MergeTask}.
+     * With {@code prune_before_merge}, the remove patterns are applied once per file before merging, see {@link Merger#prune(Object)}.
+     * With {@code sort_deferred}, the merged API is sorted once after the last merge step, see {@link Merger#sortMerged(Object)}.
      *
      * @param mergeApis The map of APIs to merge.
      * @return A Map.Entry containing the path and the merged OpenAPI object.
      */
     public static Map.Entry<Path, OpenAPI> mergeApis(final Map<Path, OpenAPI> mergeApis) {
+        return mergeGroup(logMerge(mergeApis));
+    }
+
+    private static Map.Entry<Path, OpenAPI> mergeGroup(final Map<Path, OpenAPI> mergeApis) {
+        final int treeThreshold = mergeTreeThreshold();
+        final long weight = acquireHeap(mergeApis.keySet());
+        try {
+            if (Merger.pruneBeforeMerge())
+                mergeApis.values().forEach(api -> Identifier.session(() -> Merger.prune(api)));
+            final OpenAPI result = treeThreshold > 0 && mergeApis.size() >= treeThreshold
+                ? ForkJoinPool.commonPool().invoke(new MergeTask(new ArrayList<>(mergeApis.values())))
+                : Identifier.session(() -> fold(new OpenAPI(), mergeApis.values()));
+            return Map.entry(mergeApis.keySet().iterator().next(), Merger.sortDeferred() ? Identifier.session(() -> Merger.sortMerged(result)) : result);
+        } finally {
+            HeapGovernor.release(weight);
+        }
+    }
+
+    private static OpenAPI fold(final OpenAPI result, final Collection<OpenAPI> apis) {
+        apis.forEach(api -> Merger.merge(() -> result, () -> api, nothing()));
+        return result;
+    }
+
+    /**
+     * Pairwise tree reduction of a group: both halves are merged in parallel, then the right half is merged into the left half.
+     * Earlier files always end up on the left side, which defines the merge order:
+     * <ul>
+     *     <li>Single values: the first non-null value in file order wins, same as the sequential fold.</li>
+     *     <li>Elements are matched by any of their {@link Identifier} keys. The fold matches a file against the elements of all earlier files,
+     *     the tree matches already merged halves. An element which shares different keys with different earlier elements can therefore be merged into another element than in the fold.</li>
+     *     <li>Unsorted collections and maps ({@code sort_* = none}) keep the left half first, followed by the new elements of the right half in the order of the right half.</li>
+     * </ul>
+     */
+    private static final class MergeTask extends RecursiveTask<OpenAPI> {
+
+        private final transient List<OpenAPI> apis;
+
+        private MergeTask(final List<OpenAPI> apis) {
+            this.apis = apis;
+        }
+
+        @Override
+        protected OpenAPI compute() {
+            if (apis.size() <= 2)
+                return Identifier.session(() -> fold(new OpenAPI(), apis));
+            final MergeTask left = new MergeTask(apis.subList(0, apis.size() / 2));
+            left.fork();
+            final OpenAPI right = new MergeTask(apis.subList(apis.size() / 2, apis.size())).compute();
+            final OpenAPI result = left.join();
+            // sessions are limited to the merge itself, a worker may run other tasks while it waits in join
+            return Identifier.session(() -> fold(result, List.of(right)));
+        }
+    }
+
+    private static Map<Path, OpenAPI> logMerge(final Map<Path, OpenAPI> mergeApis) {
         System.out.println("[INFO] Process " + (mergeApis.size() > 1 ? "group" : "file") + " " + mergeApis.keySet().stream().map(Path::getFileName).toList());
-        final OpenAPI result = new OpenAPI();
-        mergeApis.forEach((path, api) -> Merger.merge(() -> result, () -> api, nothing()));
-        return Map.entry(mergeApis.keySet().iterator().next(), result);
+        return mergeApis;
+    }
+
+    private static Map.Entry<Path, OpenAPI> awaitMergeResult(final Map<Path, OpenAPI> mergeApis, final Future<Map.Entry<Path, OpenAPI>> future) {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while merging " + mergeApis.keySet(), e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof final RuntimeException cause)
+                throw cause;
+            if (e.getCause() instanceof final Error cause)
+                throw cause;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static int mergeTreeThreshold() {
+        return config().asIntOpt(MERGE_TREE_THRESHOLD).filter(threshold -> threshold > 1).orElse(0);
+    }
+
+    private static int mergeThreads() {
+        return config().asIntOpt(MERGE_THREADS).filter(threads -> threads > 0).orElseGet(() -> Runtime.getRuntime().availableProcessors());
     }
 
     /**
@@ -0,0 +1,271 @@
+package berlin.yuna.apidoccrafter.logic;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.callbacks.Callback;
+import io.swagger.v3.oas.models.headers.Header;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.Encoding;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static berlin.yuna.apidoccrafter.util.Util.safeJsonMapper;
+
+/**
+ * Collapses structurally identical component schemas of a merged {@link OpenAPI}, e.g. the same {@code Error} shipped as {@code ErrorA} and {@code ErrorB} by different files.
+ * Schemas are compared by their JSON structure ignoring their name and the order of map entries. Descriptions are compared too, so no documentation gets lost.
+ * The first schema of each structure stays as canonical component, the {@code $ref}s and discriminator mappings of the duplicates are rewritten to it.
+ * Repeats until nothing changes, as rewritten refs can make further schemas identical. Only schemas with rewritten refs are fingerprinted again.
+ * <p>Suppressions</p>
+ * <ul>
+ *     <li>rawtypes = swagger models use raw schema types</li>
+ *     <li>unchecked = swagger models use raw schema types</li>
+ * </ul>
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class SchemaDeduplicator {
+
+    private static final String SCHEMAS_PREFIX = "#/components/schemas/";
+    private final Set<Schema> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final List<Schema> schemas = new ArrayList<>();
+
+    /**
+     * Collapses the structurally identical component schemas of an OpenAPI in place.
+     *
+     * @param openAPI The merged OpenAPI.
+     * @return The removed duplicate schema names mapped to their canonical schema names.
+     */
+    public static Map<String, String> deduplicate(final OpenAPI openAPI) {
+        final Map<String, String> result = new LinkedHashMap<>();
+        final Map<String, Schema> components = openAPI == null || openAPI.getComponents() == null ? null : openAPI.getComponents().getSchemas();
+        if (components == null || components.size() < 2)
+            return result;
+        final Map<String, String> fingerprints = new LinkedHashMap<>();
+        components.forEach((name, schema) -> {
+            if (schema != null)
+                fingerprints.put(name, fingerprint(schema));
+        });
+        for (Map<String, String> round = duplicates(fingerprints); !round.isEmpty(); round = duplicates(fingerprints)) {
+            final Map<String, String> duplicates = round;
+            duplicates.keySet().forEach(name -> {
+                components.remove(name);
+                fingerprints.remove(name);
+            });
+            result.replaceAll((name, canonical) -> duplicates.getOrDefault(canonical, canonical));
+            result.putAll(duplicates);
+            final SchemaDeduplicator walker = new SchemaDeduplicator();
+            final Set<Schema> changed = Collections.newSetFromMap(new IdentityHashMap<>());
+            components.forEach((name, schema) -> {
+                final SchemaDeduplicator component = new SchemaDeduplicator();
+                component.schema(schema);
+                // nested schemas can be shared, the first visit rewrites them for all components
+                component.schemas.forEach(child -> {
+                    if (walker.visited.add(child) && rewrite(child, duplicates))
+                        changed.add(child);
+                });
+                if (component.schemas.stream().anyMatch(changed::contains))
+                    fingerprints.put(name, fingerprint(schema));
+            });
+            walker.openApi(openAPI);
+            walker.schemas.forEach(schema -> rewrite(schema, duplicates));
+        }
+        return result;
+    }
+
+    // duplicate name -> canonical name, the first schema of a structure is canonical
+    private static Map<String, String> duplicates(final Map<String, String> fingerprints) {
+        final Map<String, String> canonical = new HashMap<>();
+        final Map<String, String> result = new LinkedHashMap<>();
+        fingerprints.forEach((name, fingerprint) -> {
+            final String existing = canonical.putIfAbsent(fingerprint, name);
+            if (existing != null)
+                result.put(name, existing);
+        });
+        return result;
+    }
+
+    private static String fingerprint(final Schema schema) {
+        return canonical(safeJsonMapper.valueToTree(schema)).toString();
+    }
+
+    // sorts object fields so that map entry order does not matter
+    private static Object canonical(final JsonNode node) {
+        if (node.isObject()) {
+            final Map<String, Object> result = new TreeMap<>();
+            node.fields().forEachRemaining(field -> result.put(field.getKey(), canonical(field.getValue())));
+            return result;
+        }
+        if (node.isArray()) {
+            final List<Object> result = new ArrayList<>();
+            node.forEach(item -> result.add(canonical(item)));
+            return result;
+        }
+        return node.toString();
+    }
+
+    // true if a ref or discriminator mapping was rewritten
+    private static boolean rewrite(final Schema schema, final Map<String, String> duplicates) {
+        boolean changed = false;
+        final String ref = rewrite(schema.get$ref(), duplicates);
+        if (ref != null && !ref.equals(schema.get$ref())) {
+            schema.set$ref(ref);
+            changed = true;
+        }
+        if (schema.getDiscriminator() != null && schema.getDiscriminator().getMapping() != null) {
+            for (final Map.Entry<String, String> mapping : schema.getDiscriminator().getMapping().entrySet()) {
+                final String value = duplicates.containsKey(mapping.getValue()) ? duplicates.get(mapping.getValue()) : rewrite(mapping.getValue(), duplicates);
+                if (!Objects.equals(value, mapping.getValue())) {
+                    mapping.setValue(value);
+                    changed = true;
+                }
+            }
+        }
+        return changed;
+    }
+
+    private static String rewrite(final String ref, final Map<String, String> duplicates) {
+        if (ref == null || !ref.startsWith(SCHEMAS_PREFIX))
+            return ref;
+        final String name = ref.substring(SCHEMAS_PREFIX.length());
+        final int end = name.indexOf('/');
+        final String canonical = duplicates.get(end < 0 ? name : name.substring(0, end));
+        return canonical == null ? ref : SCHEMAS_PREFIX + canonical + (end < 0 ? "" : name.substring(end));
+    }
+
+    private void openApi(final OpenAPI api) {
+        components(api.getComponents());
+        if (api.getPaths() != null)
+            api.getPaths().values().forEach(this::pathItem);
+        if (api.getWebhooks() != null)
+            api.getWebhooks().values().forEach(this::pathItem);
+    }
+
+    private void components(final Components components) {
+        if (components == null)
+            return;
+        if (components.getSchemas() != null)
+            schemas(components.getSchemas().values());
+        values(components.getResponses()).forEach(this::response);
+        values(components.getParameters()).forEach(this::parameter);
+        values(components.getRequestBodies()).forEach(this::requestBody);
+        values(components.getHeaders()).forEach(this::header);
+        values(components.getCallbacks()).forEach(this::callback);
+        values(components.getPathItems()).forEach(this::pathItem);
+    }
+
+    private void pathItem(final PathItem pathItem) {
+        if (pathItem == null)
+            return;
+        values(pathItem.getParameters()).forEach(this::parameter);
+        pathItem.readOperations().forEach(this::operation);
+    }
+
+    private void operation(final Operation operation) {
+        if (operation == null)
+            return;
+        values(operation.getParameters()).forEach(this::parameter);
+        requestBody(operation.getRequestBody());
+        if (operation.getResponses() != null)
+            operation.getResponses().values().forEach(this::response);
+        values(operation.getCallbacks()).forEach(this::callback);
+    }
+
+    private void callback(final Callback callback) {
+        if (callback != null)
+            callback.values().forEach(this::pathItem);
+    }
+
+    private void parameter(final Parameter parameter) {
+        if (parameter != null) {
+            schema(parameter.getSchema());
+            content(parameter.getContent());
+        }
+    }
+
+    private void requestBody(final RequestBody requestBody) {
+        if (requestBody != null)
+            content(requestBody.getContent());
+    }
+
+    private void response(final ApiResponse response) {
+        if (response != null) {
+            values(response.getHeaders()).forEach(this::header);
+            content(response.getContent());
+        }
+    }
+
+    private void header(final Header header) {
+        if (header != null) {
+            schema(header.getSchema());
+            content(header.getContent());
+        }
+    }
+
+    private void content(final Content content) {
+        if (content != null)
+            content.values().forEach(this::mediaType);
+    }
+
+    private void mediaType(final MediaType mediaType) {
+        if (mediaType == null)
+            return;
+        schema(mediaType.getSchema());
+        values(mediaType.getEncoding()).stream().map(Encoding::getHeaders).forEach(headers -> values(headers).forEach(this::header));
+    }
+
+    private void schema(final Schema schema) {
+        if (schema == null || !visited.add(schema))
+            return;
+        schemas.add(schema);
+        for (final Schema child : new Schema[]{schema.getItems(), schema.getNot(), schema.getContains(), schema.getIf(), schema.getThen(), schema.getElse(),
+            schema.getPropertyNames(), schema.getContentSchema(), schema.getAdditionalItems(), schema.getUnevaluatedItems(), schema.getUnevaluatedProperties()})
+            schema(child);
+        schemas(schema.getAllOf());
+        schemas(schema.getAnyOf());
+        schemas(schema.getOneOf());
+        schemas(schema.getPrefixItems());
+        if (schema.getProperties() != null)
+            schemas(schema.getProperties().values());
+        if (schema.getPatternProperties() != null)
+            schemas(schema.getPatternProperties().values());
+        if (schema.getDependentSchemas() != null)
+            schemas(schema.getDependentSchemas().values());
+        if (schema.getAdditionalProperties() instanceof final Schema additional)
+            schema(additional);
+    }
+
+    private void schemas(final Collection<Schema> schemas) {
+        if (schemas != null)
+            schemas.forEach(this::schema);
+    }
+
+    private static <T> Collection<T> values(final Collection<T> collection) {
+        return collection == null ? List.of() : collection;
+    }
+
+    private static <T> Collection<T> values(final Map<String, T> map) {
+        return map == null ? List.of() : map.values();
+    }
+
+    private SchemaDeduplicator() {
+        // use SchemaDeduplicator.deduplicate
+    }
+}
@@ -0,0 +1,258 @@
+package berlin.yuna.apidoccrafter.logic;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static berlin.yuna.apidoccrafter.util.Util.safeJsonMapper;
+
+/**
+ * Telemetry of the parser strategies.
+ * Records wall time, outcome and score of every strategy attempt, grouped by spec key (format and major spec version, see {@link #specKey(ApiSniffer.Spec)}).
+ * The aggregated wins drive the {@code adaptive} parse order, which tries the strategies that won most often for similar files first.
+ * The order is frozen when the stats of previous runs are loaded, wins of the current run only affect the next run.
+ * Without {@code cache_dir} no stats are persisted and the {@code adaptive} order equals the {@code static} order.
+ * <p>Suppressions</p>
+ * <ul>
+ *     <li>S106 = System.out.println is used - That is okay as it's not a production code</li>
+ * </ul>
+ */
+@SuppressWarnings("java:S106")
+public class StrategyStats {
+
+    public static final String REPORT_FILE = "parser_report.json";
+    public static final String STATS_FILE = "strategy_stats.json";
+    // previous runs and the current run
+    private static final Map<String, Map<String, Aggregate>> BY_SPEC = new ConcurrentHashMap<>();
+    // the current run only
+    private static final Map<String, Map<String, Aggregate>> RUN = new ConcurrentHashMap<>();
+    private static final Queue<FileReport> FILES = new ConcurrentLinkedQueue<>();
+    private static volatile Map<String, Map<String, Long>> frozenWins = Map.of();
+
+    public enum Outcome {
+        WIN, OK, FAILED, TIMEOUT
+    }
+
+    /**
+     * A single strategy run.
+     *
+     * @param strategy The strategy name.
+     * @param nanos    The wall time in nanoseconds.
+     * @param score    The structural score of the result, 0 if the strategy failed.
+     * @param outcome  The outcome of the run.
+     */
+    public record Attempt(String strategy, long nanos, int score, Outcome outcome) {
+
+        Attempt withOutcome(final Outcome outcome) {
+            return new Attempt(strategy, nanos, score, outcome);
+        }
+    }
+
+    /**
+     * All strategy runs of a file.
+     *
+     * @param file     The parsed file.
+     * @param spec     The spec key of the file.
+     * @param winner   The name of the winning strategy, null if no strategy succeeded.
+     * @param attempts The strategy runs in execution order.
+     */
+    public record FileReport(String file, String spec, String winner, List<Attempt> attempts) {
+    }
+
+    /**
+     * Records the strategy runs of a file.
+     *
+     * @param file     The parsed file.
+     * @param specKey  The spec key of the file.
+     * @param attempts The strategy runs in execution order.
+     * @param winner   The selected result, null if no strategy succeeded.
+     */
+    public static void record(final Path file, final String specKey, final List<Attempt> attempts, final Processor.ParseResult winner) {
+        final String winnerName = winner == null ? null : winner.parserName();
+        final List<Attempt> result = attempts.stream().map(attempt -> attempt.strategy().equals(winnerName) ? attempt.withOutcome(Outcome.WIN) : attempt).toList();
+        final Map<String, Aggregate> stats = BY_SPEC.computeIfAbsent(specKey, key -> new ConcurrentHashMap<>());
+        final Map<String, Aggregate> run = RUN.computeIfAbsent(specKey, key -> new ConcurrentHashMap<>());
+        result.forEach(attempt -> {
+            stats.computeIfAbsent(attempt.strategy(), key -> new Aggregate()).add(attempt);
+            run.computeIfAbsent(attempt.strategy(), key -> new Aggregate()).add(attempt);
+        });
+        FILES.add(new FileReport(file.toString(), specKey, winnerName, result));
+    }
+
+    /**
+     * Orders the strategies by their wins of previous runs for the given spec key. Strategies without wins keep their original order.
+     *
+     * @param strategies The strategies in escalation order.
+     * @param specKey    The spec key of the file.
+     * @return The strategies ordered by wins.
+     */
+    public static List<Processor.ParserStrategy> order(final List<Processor.ParserStrategy> strategies, final String specKey) {
+        final Map<String, Long> wins = frozenWins.getOrDefault(specKey, Map.of());
+        return strategies.stream()
+            .sorted(Comparator.comparingLong((Processor.ParserStrategy strategy) -> wins.getOrDefault(strategy.name(), 0L)).reversed())
+            .toList();
+    }
+
+    /**
+     * @param spec The sniffed spec, null if unknown.
+     * @return The spec key: format and major spec version like {@code yaml/3}.
+     */
+    public static String specKey(final ApiSniffer.Spec spec) {
+        if (spec == null)
+            return "unknown";
+        final String version = spec.version() == null ? "unknown" : spec.version().split("\\.", 2)[0];
+        return spec.format() + "/" + version;
+    }
+
+    /**
+     * Loads the aggregated stats of previous runs and freezes the {@link #order(List, String)} for the current run.
+     *
+     * @param dir The directory of the stats file.
+     */
+    public static void load(final Path dir) {
+        final Path file = dir.resolve(STATS_FILE);
+        if (Files.isRegularFile(file)) {
+            try {
+                final Map<String, Map<String, Map<String, Long>>> stored = safeJsonMapper.readValue(file.toFile(), new TypeReference<>() {
+                });
+                stored.forEach((specKey, strategies) -> strategies.forEach((strategy, values) ->
+                    BY_SPEC.computeIfAbsent(specKey, key -> new ConcurrentHashMap<>()).computeIfAbsent(strategy, key -> new Aggregate()).add(values)
+                ));
+            } catch (final Exception e) {
+                System.err.println("[WARN] Failed to load strategy stats [" + file + "] cause [" + e.getClass().getSimpleName() + "] message [" + e.getMessage() + "]");
+            }
+        }
+        final Map<String, Map<String, Long>> wins = new TreeMap<>();
+        BY_SPEC.forEach((specKey, strategies) -> strategies.forEach((strategy, aggregate) ->
+            wins.computeIfAbsent(specKey, key -> new TreeMap<>()).put(strategy, aggregate.wins.sum())
+        ));
+        frozenWins = wins;
+    }
+
+    /**
+     * Stores the aggregated stats for the next runs.
+     *
+     * @param dir The directory of the stats file.
+     */
+    public static void save(final Path dir) {
+        final Path file = dir.resolve(STATS_FILE);
+        try {
+            Files.createDirectories(dir);
+            safeJsonMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), aggregates(BY_SPEC, Aggregate::toMap));
+        } catch (final Exception e) {
+            System.err.println("[WARN] Failed to save strategy stats [" + file + "] cause [" + e.getClass().getSimpleName() + "] message [" + e.getMessage() + "]");
+        }
+    }
+
+    /**
+     * Writes the machine-readable report with the aggregated stats per spec key and the strategy runs per file.
+     * {@code strategies} contains the current run only.
+     * {@code totals} contains the persisted stats of previous runs plus the current run, it is only written if previous stats were loaded.
+     *
+     * @param outputDir The output directory.
+     */
+    public static void writeReport(final Path outputDir) {
+        final Path file = outputDir.resolve(REPORT_FILE);
+        final Map<String, Object> report = new LinkedHashMap<>();
+        report.put("strategies", aggregates(RUN, Aggregate::toReport));
+        if (!frozenWins.isEmpty())
+            report.put("totals", aggregates(BY_SPEC, Aggregate::toReport));
+        report.put("files", FILES.stream().sorted(Comparator.comparing(FileReport::file)).toList());
+        try {
+            safeJsonMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+            System.out.println("[INFO] Generated [" + file + "]");
+        } catch (final Exception e) {
+            System.err.println("[ERROR] Failed to save [" + file + "] cause [" + e.getClass().getSimpleName() + "] message [" + e.getMessage() + "]");
+        }
+    }
+
+    /**
+     * Resets the stats and the frozen order, e.g. before loading the stats of previous runs.
+     */
+    public static void reset() {
+        BY_SPEC.clear();
+        RUN.clear();
+        FILES.clear();
+        frozenWins = Map.of();
+    }
+
+    private static Map<String, Map<String, Map<String, Object>>> aggregates(final Map<String, Map<String, Aggregate>> source, final Function<Aggregate, Map<String, Object>> mapper) {
+        final Map<String, Map<String, Map<String, Object>>> result = new TreeMap<>();
+        source.forEach((specKey, strategies) -> strategies.forEach((strategy, aggregate) ->
+            result.computeIfAbsent(specKey, key -> new TreeMap<>()).put(strategy, mapper.apply(aggregate))
+        ));
+        return result;
+    }
+
+    private static final class Aggregate {
+        private final LongAdder runs = new LongAdder();
+        private final LongAdder wins = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder score = new LongAdder();
+
+        private void add(final Attempt attempt) {
+            runs.increment();
+            nanos.add(attempt.nanos());
+            score.add(attempt.score());
+            switch (attempt.outcome()) {
+                case WIN -> wins.increment();
+                case FAILED -> failures.increment();
+                case TIMEOUT -> timeouts.increment();
+                case OK -> {
+                    // counted as run
+                }
+            }
+        }
+
+        private void add(final Map<String, Long> values) {
+            runs.add(values.getOrDefault("runs", 0L));
+            wins.add(values.getOrDefault("wins", 0L));
+            failures.add(values.getOrDefault("failures", 0L));
+            timeouts.add(values.getOrDefault("timeouts", 0L));
+            nanos.add(values.getOrDefault("nanos", 0L));
+            score.add(values.getOrDefault("score", 0L));
+        }
+
+        private Map<String, Object> toMap() {
+            final Map<String, Object> result = new LinkedHashMap<>();
+            result.put("runs", runs.sum());
+            result.put("wins", wins.sum());
+            result.put("failures", failures.sum());
+            result.put("timeouts", timeouts.sum());
+            result.put("nanos", nanos.sum());
+            result.put("score", score.sum());
+            return result;
+        }
+
+        private Map<String, Object> toReport() {
+            final long count = Math.max(1, runs.sum());
+            final Map<String, Object> result = new LinkedHashMap<>();
+            result.put("runs", runs.sum());
+            result.put("wins", wins.sum());
+            result.put("failures", failures.sum());
+            result.put("timeouts", timeouts.sum());
+            result.put("winRate", (double) wins.sum() / count);
+            result.put("avgMillis", nanos.sum() / 1_000_000d / count);
+            result.put("totalMillis", nanos.sum() / 1_000_000d);
+            result.put("avgScore", (double) score.sum() / count);
+            return result;
+        }
+    }
+
+    private StrategyStats() {
+        // Utility class
+    }
+}
@@ -1,36 +1,73 @@
 package berlin.yuna.apidoccrafter.util;
 
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.util.List;
+/**
+ * Removes content which breaks the OpenAPI parsers.
+ * Works line by line on the in-memory content in a single pass without regular expressions or intermediate line lists.
+ * <ul>
+ *     <li>Comment lines starting with {@code #} or {@code //} (leading whitespaces are ignored)</li>
+ *     <li>YAML document separators {@code ---}</li>
+ *     <li>Swagger 2.0 version marker, replaced by OpenAPI 3.0.1</li>
+ * </ul>
+ */
+public class FileCleaner {
 
-import static berlin.yuna.apidoccrafter.config.Config.getEncoding;
-import static berlin.yuna.apidoccrafter.util.Util.mkdir;
+    private static final String DOCUMENT_SEPARATOR = "---";
+    private static final String YAML_SWAGGER_2 = "swagger: \"2.0\"";
+    private static final String YAML_OPENAPI_3 = "openapi: 3.0.1";
+    private static final String JSON_SWAGGER_2 = "\"swagger\": \"2.0\"";
+    private static final String JSON_OPENAPI_3 = "\"openapi\": \"3.0.1\"";
 
-// java:S106 - Standard outputs should not be used directly to log anything
-@SuppressWarnings({"java:S106", "java:S1192"})
-public class FileCleaner {
+    /**
+     * Removes comment lines and document separators and rewrites the Swagger 2.0 version marker to OpenAPI 3.0.1.
+     * Line terminators ({@code \n}, {@code \r\n}, {@code \r}) are normalized to {@code \n}.
+     *
+     * @param content The file content.
+     * @return The cleaned content.
+     */
+    public static String clean(final CharSequence content) {
+        final int length = content.length();
+        final StringBuilder result = new StringBuilder(length);
+        int start = 0;
+        while (start < length) {
+            int end = start;
+            while (end < length && content.charAt(end) != '\n' && content.charAt(end) != '\r')
+                end++;
+            appendLine(result, content, start, end);
+            if (end + 1 < length && content.charAt(end) == '\r' && content.charAt(end + 1) == '\n')
+                end++;
+            start = end + 1;
+        }
+        return result.toString();
+    }
+
+    private static void appendLine(final StringBuilder result, final CharSequence content, final int start, final int end) {
+        if (isComment(content, start, end) || isLine(content, start, end, DOCUMENT_SEPARATOR))
+            return;
+        if (isLine(content, start, end, YAML_SWAGGER_2))
+            result.append(YAML_OPENAPI_3);
+        else if (isLine(content, start, end, JSON_SWAGGER_2))
+            result.append(JSON_OPENAPI_3);
+        else
+            result.append(content, start, end);
+        result.append('\n');
+    }
+
+    private static boolean isComment(final CharSequence content, final int start, final int end) {
+        int i = start;
+        // same whitespaces as the regex \s
+        while (i < end && (content.charAt(i) == ' ' || content.charAt(i) == '\t' || content.charAt(i) == '\u000B' || content.charAt(i) == '\f'))
+            i++;
+        return i < end && (content.charAt(i) == '#' || (content.charAt(i) == '/' && i + 1 < end && content.charAt(i + 1) == '/'));
+    }
 
-    public static Path cleanFile(final Path path) {
-        try {
-            final Path tempDirectory = Path.of(System.getProperty("user.home"), "api-doc-cleaner");
-            mkdir(tempDirectory);
-            final Path target = tempDirectory.resolve(path.getFileName());
-            if (Files.exists(target))
-                return target;
-            List<String> content = Files.readAllLines(path, getEncoding())
-                .stream()
-                .filter(line -> !line.matches("^\\s*(//|#).*"))
-                .filter(line -> !line.equals("---"))
-                .map(line -> line.equals("swagger: \"2.0\"") ? "openapi: 3.0.1" : line)
-                .map(line -> line.equals("\"swagger\": \"2.0\"") ? "\"openapi\": \"3.0.1\"" : line)
-                .toList();
-            Files.write(target, content, getEncoding());
-            return target;
-        } catch (Exception e) {
-            System.err.println("[ERROR] Failed to preprocess file [" + path + "] cause [" + e.getClass().getSimpleName() + "] message [" + e.getMessage() + "]");
-            return path;
+    private static boolean isLine(final CharSequence content, final int start, final int end, final String expected) {
+        if (end - start != expected.length())
+            return false;
+        for (int i = 0; i < expected.length(); i++) {
+            if (content.charAt(start + i) != expected.charAt(i))
+                return false;
         }
+        return true;
     }
 
     private FileCleaner() {
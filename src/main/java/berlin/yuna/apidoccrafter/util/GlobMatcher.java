@@ -0,0 +1,93 @@
+package berlin.yuna.apidoccrafter.util;
+
+import berlin.yuna.typemap.logic.ArgsDecoder;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import static berlin.yuna.apidoccrafter.util.Util.SPLIT_REGEX;
+import static berlin.yuna.apidoccrafter.util.Util.globToRegex;
+
+/**
+ * Compiled string glob set like {@code internal*|*.admin|{foo,bar}}, cached per pattern string.
+ * Matches case-insensitive with the same semantics as {@link Util#globToRegex(String)} and {@link String#matches(String)}:
+ * every glob is compiled once, plain literals and {@code literal*} prefixes skip the regex engine.
+ * An invalid glob stops the evaluation with no match, like an exception from {@link String#matches(String)} did.
+ */
+public class GlobMatcher {
+
+    private static final Map<String, GlobMatcher> CACHE = new ConcurrentHashMap<>();
+    private static final String REGEX_CHARS = "\\[]()^$+|";
+    private static final String GLOB_CHARS = "*?{},";
+    // matches nothing and ends the evaluation, see class doc
+    private static final Predicate<String> INVALID = input -> false;
+    private final List<Predicate<String>> globs;
+
+    /**
+     * @param glob The glob set, split by {@link Util#SPLIT_REGEX}.
+     * @return The compiled glob set, shared for equal pattern strings.
+     */
+    public static GlobMatcher of(final String glob) {
+        return CACHE.computeIfAbsent(glob, GlobMatcher::new);
+    }
+
+    /**
+     * @return true if the glob set contains no glob and matches nothing.
+     */
+    public boolean isEmpty() {
+        return globs.isEmpty();
+    }
+
+    /**
+     * @param input The string to match.
+     * @return true if the lower case input matches any glob, false otherwise.
+     */
+    public boolean matches(final String input) {
+        if (!ArgsDecoder.hasText(input))
+            return false;
+        final String lowerInput = input.toLowerCase();
+        for (final Predicate<String> glob : globs) {
+            if (glob == INVALID)
+                return false;
+            if (glob.test(lowerInput))
+                return true;
+        }
+        return false;
+    }
+
+    private static Predicate<String> compile(final String glob) {
+        final int star = glob.indexOf('*');
+        if (isLiteral(glob))
+            return glob::equals;
+        if (star == glob.length() - 1 && isLiteral(glob.substring(0, star))) {
+            final String prefix = glob.substring(0, star);
+            // ".*" does not match line terminators
+            return input -> input.startsWith(prefix) && input.chars().skip(prefix.length()).noneMatch(GlobMatcher::isLineTerminator);
+        }
+        try {
+            return Pattern.compile(globToRegex(glob)).asMatchPredicate();
+        } catch (final Exception ignored) {
+            return INVALID;
+        }
+    }
+
+    private static boolean isLiteral(final String glob) {
+        return glob.chars().noneMatch(c -> REGEX_CHARS.indexOf(c) >= 0 || GLOB_CHARS.indexOf(c) >= 0);
+    }
+
+    private static boolean isLineTerminator(final int c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    private GlobMatcher(final String glob) {
+        this.globs = ArgsDecoder.hasText(glob) ? Arrays.stream(glob.split(SPLIT_REGEX))
+            .filter(ArgsDecoder::hasText)
+            .map(String::toLowerCase)
+            .map(GlobMatcher::compile)
+            .toList() : List.of();
+    }
+}
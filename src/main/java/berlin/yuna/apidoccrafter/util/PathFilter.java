@@ -0,0 +1,185 @@
+package berlin.yuna.apidoccrafter.util;
+
+import berlin.yuna.typemap.logic.ArgsDecoder;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.FileVisitOption;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import static berlin.yuna.apidoccrafter.util.Util.SPLIT_REGEX;
+
+/**
+ * Compiled file include and exclude globs, separated by {@link Util#SPLIT_REGEX} and matched against the whole path.
+ * The {@link PathMatcher}s are created once per pattern string.
+ * {@link #walk(Path, int)} prunes directories which can't contain a matching file:
+ * no include glob can match below the directory or an exclude glob like {@code **}{@code /node_modules/**} excludes everything below it.
+ */
+public class PathFilter {
+
+    private static final Map<String, List<Glob>> CACHE = new ConcurrentHashMap<>();
+    // matches nothing and ends the evaluation like the exception of an invalid glob did
+    private static final Glob INVALID = new Glob(path -> false, null, null);
+    private final List<Glob> includes;
+    private final List<Glob> excludes;
+
+    /**
+     * A compiled glob.
+     *
+     * @param matcher  Matches the whole path.
+     * @param segments The name element matchers, null if unknown. A null element matches any depth ({@code **}).
+     * @param subtree  Matches directories whose whole subtree matches ({@code dir/**}), null if the glob has no such form.
+     */
+    private record Glob(PathMatcher matcher, List<Predicate<String>> segments, PathMatcher subtree) {
+    }
+
+    /**
+     * @param includes The include globs, null or empty = include all.
+     * @param excludes The exclude globs, null or empty = exclude none.
+     * @return The compiled path filter.
+     */
+    public static PathFilter of(final String includes, final String excludes) {
+        return new PathFilter(includes == null ? null : globs(includes), excludes == null ? List.of() : globs(excludes));
+    }
+
+    /**
+     * @param path The path to match.
+     * @param glob The globs separated by {@link Util#SPLIT_REGEX}.
+     * @return true if the path matches any glob, false otherwise.
+     */
+    public static boolean matches(final Path path, final String glob) {
+        return glob != null && anyMatch(globs(glob), path);
+    }
+
+    /**
+     * @param file The file to test.
+     * @return true if the file matches an include glob and no exclude glob.
+     */
+    public boolean test(final Path file) {
+        return (includes == null || anyMatch(includes, file)) && !anyMatch(excludes, file);
+    }
+
+    /**
+     * @param dir The directory to test.
+     * @return true if no file below the directory can pass {@link #test(Path)}.
+     */
+    public boolean isPruned(final Path dir) {
+        final String[] names = !"/".equals(dir.getFileSystem().getSeparator()) ? null : dir.toString().isEmpty() ? new String[0] : dir.toString().split("/", -1);
+        if (includes != null && names != null && includes.stream().noneMatch(glob -> isViable(glob, names)))
+            return true;
+        for (final Glob glob : excludes) {
+            if (glob == INVALID)
+                return false;
+            if (glob.subtree() != null && glob.subtree().matches(dir))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Walks the directory tree without descending into pruned directories.
+     *
+     * @param root    The root directory.
+     * @param maxDeep The maximum directory depth.
+     * @return The sorted regular files which pass {@link #test(Path)}.
+     * @throws IOException if the directory tree is not readable.
+     */
+    public List<Path> walk(final Path root, final int maxDeep) throws IOException {
+        final List<Path> result = new ArrayList<>();
+        Files.walkFileTree(root, EnumSet.noneOf(FileVisitOption.class), maxDeep, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) {
+                return isPruned(dir) ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                if ((attrs.isRegularFile() || attrs.isSymbolicLink() && Files.isRegularFile(file)) && test(file))
+                    result.add(file);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        result.sort(null);
+        return result;
+    }
+
+    private static boolean anyMatch(final List<Glob> globs, final Path path) {
+        for (final Glob glob : globs) {
+            if (glob == INVALID)
+                return false;
+            if (glob.matcher().matches(path))
+                return true;
+        }
+        return false;
+    }
+
+    // true if a path below the directory can match the glob, compares the directory names with the glob segments
+    private static boolean isViable(final Glob glob, final String[] names) {
+        if (glob == INVALID || glob.segments() == null)
+            return true;
+        for (int i = 0; i < names.length; i++) {
+            if (i >= glob.segments().size())
+                return false;
+            final Predicate<String> segment = glob.segments().get(i);
+            if (segment == null)
+                return true;
+            if (!segment.test(names[i]))
+                return false;
+        }
+        return names.length < glob.segments().size();
+    }
+
+    private static List<Glob> globs(final String glob) {
+        return CACHE.computeIfAbsent(glob, key -> Arrays.stream(key.split(SPLIT_REGEX))
+            .filter(ArgsDecoder::hasText)
+            .map(PathFilter::compile)
+            .toList());
+    }
+
+    private static Glob compile(final String glob) {
+        try {
+            final PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+            final PathMatcher subtree = glob.endsWith("/**") && glob.length() > 3 && segments(glob) != null ? FileSystems.getDefault().getPathMatcher("glob:" + glob.substring(0, glob.length() - 3)) : null;
+            return new Glob(matcher, segments(glob), subtree);
+        } catch (final Exception ignored) {
+            return INVALID;
+        }
+    }
+
+    // splits the glob into name element matchers, null if a group, class or escape could span multiple name elements
+    private static List<Predicate<String>> segments(final String glob) {
+        if (glob.indexOf('\\') >= 0 || glob.matches(".*\\{[^}]*/.*") || glob.matches(".*\\[[^]]*/.*"))
+            return null;
+        final List<Predicate<String>> result = new ArrayList<>();
+        for (final String segment : glob.split("/", -1)) {
+            if (segment.contains("**")) {
+                result.add(null);
+                break;
+            }
+            if (segment.chars().noneMatch(c -> "*?[{".indexOf(c) >= 0)) {
+                result.add(segment::equals);
+            } else {
+                final PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + segment);
+                result.add(name -> matcher.matches(Path.of(name)));
+            }
+        }
+        return result;
+    }
+
+    private PathFilter(final List<Glob> includes, final List<Glob> excludes) {
+        this.includes = includes;
+        this.excludes = excludes;
+    }
+}
@@ -1,6 +1,5 @@
 package berlin.yuna.apidoccrafter.util;
 
-import berlin.yuna.typemap.logic.ArgsDecoder;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.MapperFeature;
@@ -17,9 +16,10 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.util.*;
 import java.util.function.Consumer;
@@ -30,8 +30,7 @@ import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import static berlin.yuna.apidoccrafter.config.Config.getEncoding;
-import static berlin.yuna.apidoccrafter.config.Config.getRemovePattern;
+import static berlin.yuna.apidoccrafter.config.Config.settings;
 import static berlin.yuna.typemap.logic.ArgsDecoder.hasText;
 import static java.util.Optional.ofNullable;
 
@@ -42,6 +41,8 @@ public class Util {
     public static final String SPLIT_REGEX = "::|\\|";
     public static final String SPLIT_REGEX_WITH_COMMA = ",|::|\\|";
     private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\$\\{([^}]+)}");
+    // $ref values which are not local json pointers e.g. "common.yaml#/Error" or "https://..."
+    private static final Pattern EXTERNAL_REF_PATTERN = Pattern.compile("[\"']?\\$ref[\"']?\\s*:\\s*[\"']?(?!#)[^\\s\"']");
     public static final ObjectMapper safeJsonMapper = Json.mapper().copy()
         .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
         .configure(DeserializationFeature.FAIL_ON_NULL_FOR_PRIMITIVES, false)
@@ -73,7 +74,14 @@ public class Util {
      * @return true if the string matches the glob pattern, false otherwise.
      */
     public static boolean matchesRemoveGlob(final String input) {
-        return matchesStringGlob(input, getRemovePattern());
+        return removeGlob().matches(input);
+    }
+
+    /**
+     * @return The compiled {@code remove_patterns}, matches nothing if no pattern is configured.
+     */
+    public static GlobMatcher removeGlob() {
+        return settings().removeGlob();
     }
 
 
@@ -87,16 +95,7 @@ public class Util {
     public static boolean matchesStringGlob(final String input, final String glob) {
         if (!hasText(glob) || !hasText(input))
             return false; // Ensure input and glob are valid
-        try {
-            final String lowerInput = input.toLowerCase();
-            return Arrays.stream(glob.split(SPLIT_REGEX))
-                .filter(ArgsDecoder::hasText)
-                .map(String::toLowerCase)
-                .map(Util::globToRegex)
-                .anyMatch(lowerInput::matches);
-        } catch (final Exception ignored) {
-            return false; // Handle invalid patterns gracefully
-        }
+        return GlobMatcher.of(glob).matches(input);
     }
 
     /**
@@ -107,14 +106,7 @@ public class Util {
      * @return true if the path matches the pattern, false otherwise.
      */
     public static boolean matchesGlob(final Path path, final String glob) {
-        try {
-            return Arrays.stream(glob.split(SPLIT_REGEX))
-                .filter(ArgsDecoder::hasText)
-                .map(pattern -> FileSystems.getDefault().getPathMatcher("glob:" + pattern))
-                .anyMatch(pathMatcher -> pathMatcher.matches(path));
-        } catch (final Exception ignored) {
-            return false; // ignore invalid patterns
-        }
+        return PathFilter.matches(path, glob);
     }
 
 
@@ -214,7 +206,7 @@ public class Util {
 
     public static void writeFile(final Path path, final String content) {
         try {
-            Files.writeString(path, content, getEncoding());
+            Files.writeString(path, content, settings().encoding());
             System.out.println("[INFO] Generated [" + path + "]");
         } catch (IOException e) {
             System.err.println("[ERROR] Failed to write [" + path + "] cause [" + e.getClass().getSimpleName() + "] message [" + e.getMessage() + "]");
@@ -307,6 +299,33 @@ public class Util {
         }
     }
 
+    /**
+     * Checks if the content contains {@code $ref} values pointing to other files or URLs.
+     *
+     * @param content The file content.
+     * @return true if the content contains at least one non-local {@code $ref}.
+     */
+    public static boolean hasExternalRefs(final String content) {
+        return content != null && content.contains("$ref") && EXTERNAL_REF_PATTERN.matcher(content).find();
+    }
+
+    /**
+     * Computes the SHA-256 hash of the given parts.
+     *
+     * @param parts The byte arrays to hash in order.
+     * @return The hex encoded hash.
+     */
+    public static String sha256(final byte[]... parts) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (final byte[] part : parts)
+                digest.update(part);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
     public static String replaceVariables(final String input) {
         if (input == null || !input.contains("${")) return input;
         final Matcher matcher = VARIABLE_PATTERN.matcher(input);
@@ -0,0 +1,55 @@
+package berlin.yuna.apidoccrafter.benchmark;
+
+import berlin.yuna.apidoccrafter.logic.ApiScore;
+import berlin.yuna.apidoccrafter.logic.Processor;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static berlin.yuna.apidoccrafter.util.Util.safeJsonMapper;
+
+/**
+ * Cost per parsed file of the parser result quality metric.
+ * {@code jsonSize} = previous metric (JSON serialization length), {@code structuralScore} = {@link ApiScore}.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ApiScoreBenchmark {
+
+    @Param({"books.yaml", "games.yaml", "health1.yaml", "petstore_part1.json", "petstore_part2.json"})
+    public String file;
+
+    private OpenAPI api;
+
+    @Setup
+    public void setup() throws IOException {
+        api = Processor.parseStrict(Processor.parserStrategies(false), Processor.SourceFile.read(Path.of("src/test/resources/files").resolve(file))).orElseThrow().api();
+    }
+
+    @Benchmark
+    public int jsonSize() throws IOException {
+        return safeJsonMapper.writeValueAsString(api).length();
+    }
+
+    @Benchmark
+    public int structuralScore() {
+        return ApiScore.score(api);
+    }
+}
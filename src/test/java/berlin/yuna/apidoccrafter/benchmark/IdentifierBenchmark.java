@@ -0,0 +1,100 @@
+package berlin.yuna.apidoccrafter.benchmark;
+
+import berlin.yuna.apidoccrafter.config.Identifier;
+import berlin.yuna.apidoccrafter.logic.Processor;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the {@link Identifier} lookups on the model objects of a parsed file (paths, operations, parameters, responses, schemas, tags, servers).
+ * {@code getKeysRegistryScan} = previous type dispatch (scan of {@link Identifier#ID_MAP} per call), {@code getKeys} = per class dispatch cache.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IdentifierBenchmark {
+
+    @Param({"games.yaml", "petstore_part1.json"})
+    public String file;
+
+    private List<Object> items;
+
+    @Setup
+    public void setup() throws IOException {
+        final OpenAPI api = Processor.parseStrict(Processor.parserStrategies(false), Processor.SourceFile.read(Path.of("src/test/resources/files").resolve(file))).orElseThrow().api();
+        items = new ArrayList<>();
+        if (api.getTags() != null)
+            items.addAll(api.getTags());
+        if (api.getServers() != null)
+            items.addAll(api.getServers());
+        if (api.getPaths() != null) {
+            items.addAll(api.getPaths().keySet());
+            api.getPaths().values().forEach(pathItem -> pathItem.readOperations().forEach(operation -> addOperation(items, operation)));
+        }
+        if (api.getComponents() != null && api.getComponents().getSchemas() != null)
+            items.addAll(api.getComponents().getSchemas().values());
+        items.removeIf(Objects::isNull);
+    }
+
+    @Benchmark
+    public void getKeys(final Blackhole blackhole) {
+        for (final Object item : items)
+            blackhole.consume(Identifier.getKeys(item));
+    }
+
+    @Benchmark
+    public void getKeysRegistryScan(final Blackhole blackhole) {
+        for (final Object item : items)
+            blackhole.consume(Identifier.ID_MAP.entrySet().stream()
+                .filter(entry -> entry.getKey().isInstance(item))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .map(extractor -> extractor.apply(item))
+                .orElse(null));
+    }
+
+    @Benchmark
+    public void isEqual(final Blackhole blackhole) {
+        for (int i = 1; i < items.size(); i++)
+            blackhole.consume(Identifier.isEqual(items.get(i - 1), items.get(i)));
+    }
+
+    @Benchmark
+    public void compareKeys(final Blackhole blackhole) {
+        for (int i = 1; i < items.size(); i++)
+            blackhole.consume(Identifier.compareKeys(items.get(i - 1), items.get(i)));
+    }
+
+    private static void addOperation(final List<Object> items, final Operation operation) {
+        items.add(operation);
+        if (operation.getParameters() != null)
+            items.addAll(operation.getParameters());
+        if (operation.getResponses() != null)
+            items.addAll(operation.getResponses().values());
+        if (operation.getTags() != null)
+            items.addAll(operation.getTags());
+    }
+}
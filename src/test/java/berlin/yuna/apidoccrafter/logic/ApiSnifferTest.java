@@ -0,0 +1,33 @@
+package berlin.yuna.apidoccrafter.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApiSnifferTest {
+
+    private static final Path FILES = Path.of("src/test/resources/files");
+
+    @Test
+    void sniffFiles() throws IOException {
+        assertThat(ApiSniffer.sniff(Files.readString(FILES.resolve("games.yaml")))).contains(new ApiSniffer.Spec(ApiSniffer.FORMAT_YAML, "3.0.0"));
+        assertThat(ApiSniffer.sniff(Files.readString(FILES.resolve("books.yaml")))).contains(new ApiSniffer.Spec(ApiSniffer.FORMAT_YAML, "2.0"));
+        assertThat(ApiSniffer.sniff(Files.readString(FILES.resolve("petstore_part1.json")))).contains(new ApiSniffer.Spec(ApiSniffer.FORMAT_JSON, "2.0"));
+        assertThat(ApiSniffer.sniff(Files.readString(FILES.resolve("invalid.json")))).isEmpty();
+        assertThat(ApiSniffer.sniff(Files.readString(FILES.resolve("invaild.yml")))).isEmpty();
+    }
+
+    @Test
+    void sniffContent() {
+        assertThat(ApiSniffer.sniff("{\"info\": {\"openapi\": \"3.0.0\"}, \"openapi\": \"3.1.0\"}")).contains(new ApiSniffer.Spec(ApiSniffer.FORMAT_JSON, "3.1.0"));
+        assertThat(ApiSniffer.sniff("# comment\n---\nfoo: bar\n---\nopenapi: 3.0.1\n")).contains(new ApiSniffer.Spec(ApiSniffer.FORMAT_YAML, "3.0.1"));
+        assertThat(ApiSniffer.sniff("[{\"openapi\": \"3.0.0\"}]")).isEmpty();
+        assertThat(ApiSniffer.sniff("just text")).isEmpty();
+        assertThat(ApiSniffer.sniff("{\"openapi\": \"3.0.0\"")).contains(new ApiSniffer.Spec(ApiSniffer.FORMAT_JSON, "3.0.0"));
+        assertThat(ApiSniffer.sniff("{\"info\": {")).contains(new ApiSniffer.Spec(ApiSniffer.FORMAT_JSON, null));
+    }
+}
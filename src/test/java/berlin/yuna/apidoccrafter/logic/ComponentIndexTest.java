@@ -0,0 +1,79 @@
+package berlin.yuna.apidoccrafter.logic;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import io.swagger.v3.oas.models.security.SecurityRequirement;
+import io.swagger.v3.oas.models.security.SecurityScheme;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ComponentIndexTest {
+
+    @Test
+    void copiesDanglingRefsWithTheirReferences() {
+        final OpenAPI orders = new OpenAPI()
+            .addSecurityItem(new SecurityRequirement().addList("oauth"))
+            .paths(new Paths().addPathItem("/orders", new PathItem().get(new Operation().responses(new ApiResponses().addApiResponse("200", new ApiResponse().description("ok")
+                .content(new Content().addMediaType("application/json", new MediaType().schema(new Schema<>().$ref("#/components/schemas/Order")))))))))
+            .components(new Components().addSchemas("Order", new ObjectSchema().addProperty("total", new Schema<>().$ref("#/components/schemas/Money"))));
+        final Schema<?> money = new ObjectSchema().addProperty("currency", new Schema<>().$ref("#/components/schemas/Currency"));
+        final OpenAPI payments = new OpenAPI().components(new Components()
+            .addSchemas("Money", money)
+            .addSchemas("Currency", new StringSchema())
+            .addSchemas("Unrelated", new StringSchema())
+            .addSecuritySchemes("oauth", new SecurityScheme().type(SecurityScheme.Type.OAUTH2)));
+        final OpenAPI other = new OpenAPI().components(new Components().addSchemas("Money", new StringSchema()));
+        final ComponentIndex index = ComponentIndex.of(List.of(orders, payments, other));
+
+        assertThat(index.size()).isEqualTo(5);
+        assertThat(index.resolve(orders)).containsExactly("schemas/Currency", "schemas/Money", "securitySchemes/oauth");
+        assertThat(orders.getComponents().getSchemas()).containsOnlyKeys("Order", "Money", "Currency");
+        assertThat(orders.getComponents().getSchemas().get("Money")).isNotSameAs(money).isInstanceOf(ObjectSchema.class);
+        assertThat(orders.getComponents().getSecuritySchemes()).containsOnlyKeys("oauth");
+        assertThat(index.resolve(orders)).isEmpty();
+    }
+
+    @Test
+    void copiesComponentsAsDefinedBeforeMerging() {
+        final OpenAPI orders = new OpenAPI().components(new Components().addSchemas("Money", new ObjectSchema().addProperty("amount", new IntegerSchema())));
+        final OpenAPI refunds = new OpenAPI().components(new Components().addSchemas("Money", new ObjectSchema().addProperty("currency", new StringSchema())));
+        final OpenAPI payments = new OpenAPI().components(new Components().addSchemas("Payment", new ObjectSchema().addProperty("total", new Schema<>().$ref("#/components/schemas/Money"))));
+        final Map<Path, OpenAPI> ordersGroup = new LinkedHashMap<>();
+        ordersGroup.put(Path.of("orders.yaml"), orders);
+        ordersGroup.put(Path.of("refunds.yaml"), refunds);
+        final ComponentIndex index = ComponentIndex.of(List.of(orders, refunds, payments));
+
+        final Map<Path, OpenAPI> merged = Processor.mergeApis(List.of(ordersGroup, Map.of(Path.of("payments.yaml"), payments)));
+
+        assertThat(merged.get(Path.of("orders.yaml")).getComponents().getSchemas().get("Money").getProperties()).containsOnlyKeys("amount", "currency");
+        final OpenAPI result = merged.get(Path.of("payments.yaml"));
+        assertThat(index.resolve(result)).containsExactly("schemas/Money");
+        assertThat(result.getComponents().getSchemas().get("Money").getProperties()).containsOnlyKeys("amount");
+    }
+
+    @Test
+    void keepsUnknownRefsDangling() {
+        final OpenAPI api = new OpenAPI().components(new Components().addSchemas("A", new Schema<>().$ref("#/components/schemas/Missing")));
+
+        assertThat(ComponentIndex.of(List.of(api)).resolve(api)).isEmpty();
+        assertThat(api.getComponents().getSchemas()).containsOnlyKeys("A");
+        assertThat(ComponentIndex.of(List.of()).resolve(new OpenAPI())).isEmpty();
+    }
+}
@@ -0,0 +1,64 @@
+package berlin.yuna.apidoccrafter.logic;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.Discriminator;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import io.swagger.v3.oas.models.security.SecurityRequirement;
+import io.swagger.v3.oas.models.security.SecurityScheme;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ComponentPrunerTest {
+
+    @Test
+    void removesUnreferencedComponents() {
+        final OpenAPI openAPI = new OpenAPI()
+            .paths(new Paths().addPathItem("/pets", new PathItem().get(new Operation()
+                .addParametersItem(new Parameter().$ref("#/components/parameters/limit"))
+                .addSecurityItem(new SecurityRequirement().addList("oauth"))
+                .responses(new ApiResponses().addApiResponse("200", new ApiResponse().description("ok")
+                    .content(new Content().addMediaType("application/json", new MediaType().schema(new ArraySchema().items(new Schema<>().$ref("#/components/schemas/Pet"))))))))))
+            .components(new Components()
+                .addSchemas("Pet", new ObjectSchema().addProperty("owner", new Schema<>().$ref("#/components/schemas/Owner")).discriminator(new Discriminator().propertyName("type").mapping("cat", "Cat")))
+                .addSchemas("Owner", new ObjectSchema())
+                .addSchemas("Cat", new ObjectSchema())
+                .addSchemas("Unused", new ObjectSchema().addProperty("pet", new Schema<>().$ref("#/components/schemas/Pet")))
+                .addParameters("limit", new Parameter().name("limit").in("query"))
+                .addParameters("offset", new Parameter().name("offset").in("query"))
+                .addSecuritySchemes("oauth", new SecurityScheme().type(SecurityScheme.Type.OAUTH2))
+                .addSecuritySchemes("basic", new SecurityScheme().type(SecurityScheme.Type.HTTP).scheme("basic"))
+                .addResponses("NotFound", new ApiResponse().description("not found")));
+
+        final ComponentPruner.Result result = ComponentPruner.prune(openAPI);
+        assertThat(result.removed()).isEqualTo(4);
+        assertThat(result.bytes()).isPositive();
+        assertThat(openAPI.getComponents().getSchemas()).containsOnlyKeys("Pet", "Owner", "Cat");
+        assertThat(openAPI.getComponents().getParameters()).containsOnlyKeys("limit");
+        assertThat(openAPI.getComponents().getSecuritySchemes()).containsOnlyKeys("oauth");
+        assertThat(openAPI.getComponents().getResponses()).isNull();
+    }
+
+    @Test
+    void keepsGloballyRequiredSecurityAndIgnoresMissingComponents() {
+        final OpenAPI openAPI = new OpenAPI()
+            .addSecurityItem(new SecurityRequirement().addList("basic"))
+            .paths(new Paths().addPathItem("/a", new PathItem().$ref("#/components/pathItems/missing")))
+            .components(new Components().addSecuritySchemes("basic", new SecurityScheme().type(SecurityScheme.Type.HTTP).scheme("basic")));
+
+        assertThat(ComponentPruner.prune(openAPI).removed()).isZero();
+        assertThat(openAPI.getComponents().getSecuritySchemes()).containsOnlyKeys("basic");
+        assertThat(ComponentPruner.prune(new OpenAPI()).removed()).isZero();
+    }
+}
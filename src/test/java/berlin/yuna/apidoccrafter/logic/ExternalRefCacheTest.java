@@ -0,0 +1,96 @@
+package berlin.yuna.apidoccrafter.logic;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExternalRefCacheTest {
+
+    private static final String COMMON = """
+        openapi: 3.0.1
+        info: {title: Common, version: "1"}
+        paths: {}
+        components:
+          schemas:
+            Error:
+              type: object
+              properties:
+                code: {type: integer}
+        """;
+
+    @AfterEach
+    void tearDown() {
+        ExternalRefCache.reset();
+    }
+
+    @Test
+    void sharesDocumentsAcrossFiles(@TempDir final Path dir) throws IOException {
+        write(dir.resolve("common/errors.yaml"), COMMON);
+        final Path orders = write(dir.resolve("orders/api.yaml"), api("/orders", "../common/errors.yaml"));
+        final Path payments = write(dir.resolve("payments/api.yaml"), api("/payments", "../common/errors.yaml"));
+
+        final OpenAPI first = resolve(orders, Long.MAX_VALUE);
+        assertThat(first.getComponents().getSchemas()).containsKey("Error");
+        assertThat(ExternalRefCache.misses()).isEqualTo(1);
+        assertThat(ExternalRefCache.hits()).isZero();
+        assertThat(ExternalRefCache.documents()).isEqualTo(1);
+
+        // changes on disk are not seen as the document is cached for the run
+        Files.delete(dir.resolve("common/errors.yaml"));
+        final OpenAPI second = resolve(payments, Long.MAX_VALUE);
+        assertThat(second.getComponents().getSchemas()).containsKey("Error");
+        assertThat(ExternalRefCache.hits()).isEqualTo(1);
+        assertThat(ExternalRefCache.misses()).isEqualTo(1);
+    }
+
+    @Test
+    void boundsCacheSize(@TempDir final Path dir) throws IOException {
+        write(dir.resolve("errors.yaml"), COMMON);
+        write(dir.resolve("other.yaml"), COMMON.replace("code", "reason"));
+        resolve(write(dir.resolve("a.yaml"), api("/a", "errors.yaml")), COMMON.length() * 3L);
+        resolve(write(dir.resolve("b.yaml"), api("/b", "other.yaml")), COMMON.length() * 3L);
+
+        assertThat(ExternalRefCache.documents()).isEqualTo(1);
+        assertThat(ExternalRefCache.evicted()).isEqualTo(1);
+        assertThat(ExternalRefCache.size()).isLessThanOrEqualTo(COMMON.length() * 3L);
+
+        resolve(write(dir.resolve("c.yaml"), api("/c", "errors.yaml")), 8);
+        assertThat(ExternalRefCache.misses()).isEqualTo(3);
+        assertThat(ExternalRefCache.documents()).isEqualTo(1);
+    }
+
+    private static OpenAPI resolve(final Path file, final long maxSize) throws IOException {
+        final Processor.SourceFile source = Processor.SourceFile.read(file);
+        return ExternalRefCache.resolve(source, new OpenAPIV3Parser().readContents(source.content(), null, null, source.location()).getOpenAPI(), maxSize);
+    }
+
+    private static String api(final String path, final String ref) {
+        return """
+            openapi: 3.0.1
+            info: {title: Api, version: "1"}
+            paths:
+              %s:
+                get:
+                  responses:
+                    "200":
+                      description: ok
+                      content:
+                        application/json:
+                          schema:
+                            $ref: "%s#/components/schemas/Error"
+            """.formatted(path, ref);
+    }
+
+    private static Path write(final Path file, final String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, content);
+    }
+}
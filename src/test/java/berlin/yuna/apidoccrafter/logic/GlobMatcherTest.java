@@ -0,0 +1,46 @@
+package berlin.yuna.apidoccrafter.logic;
+
+import berlin.yuna.apidoccrafter.util.GlobMatcher;
+import berlin.yuna.apidoccrafter.util.Util;
+import berlin.yuna.typemap.logic.ArgsDecoder;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static berlin.yuna.apidoccrafter.util.Util.SPLIT_REGEX;
+import static berlin.yuna.apidoccrafter.util.Util.matchesStringGlob;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GlobMatcherTest {
+
+    @Test
+    void matchesLikeRegexPerGlob() {
+        final List<String> globs = List.of("internal", "internal*", "*.admin", "v?/pets", "{foo,bar}*", "a.b|c::d*", "Pets*", "x(", "x(|y", "y|x(", "(*");
+        final List<String> inputs = List.of("internal", "Internal-API", "internal\nnext", "api.admin", "apiXadmin", "v1/pets", "v12/pets", "foo-1", "bar", "baz", "a.b", "axb", "cd", "d", "pets/list", "x(", "y", "(a");
+        for (final String glob : globs)
+            for (final String input : inputs)
+                assertThat(matchesStringGlob(input, glob)).as("glob [%s] input [%s]", glob, input).isEqualTo(legacy(input, glob));
+    }
+
+    @Test
+    void cachesPerPatternString() {
+        assertThat(GlobMatcher.of("internal*|*.admin")).isSameAs(GlobMatcher.of("internal*|*.admin"));
+        assertThat(GlobMatcher.of("").isEmpty()).isTrue();
+        assertThat(GlobMatcher.of("").matches("anything")).isFalse();
+    }
+
+    // the former implementation of Util.matchesStringGlob
+    private static boolean legacy(final String input, final String glob) {
+        try {
+            final String lowerInput = input.toLowerCase();
+            return Arrays.stream(glob.split(SPLIT_REGEX))
+                .filter(ArgsDecoder::hasText)
+                .map(String::toLowerCase)
+                .map(Util::globToRegex)
+                .anyMatch(lowerInput::matches);
+        } catch (final Exception ignored) {
+            return false;
+        }
+    }
+}
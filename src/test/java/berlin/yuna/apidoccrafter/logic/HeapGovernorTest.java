@@ -0,0 +1,48 @@
+package berlin.yuna.apidoccrafter.logic;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HeapGovernorTest {
+
+    @AfterEach
+    void tearDown() {
+        HeapGovernor.resetCounters();
+    }
+
+    @Test
+    void throttlesTasksAboveBudget() throws Exception {
+        final long oversized = HeapGovernor.budget();
+        final long first = HeapGovernor.acquire(oversized);
+        assertThat(first).isGreaterThan(HeapGovernor.budget());
+
+        final CompletableFuture<Long> second = CompletableFuture.supplyAsync(() -> {
+            try {
+                return HeapGovernor.acquire(oversized);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return -1L;
+            }
+        });
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertThat(second).isNotDone();
+
+        HeapGovernor.release(first);
+        HeapGovernor.release(second.get(5, TimeUnit.SECONDS));
+        assertThat(HeapGovernor.throttled()).isEqualTo(1);
+        assertThat(HeapGovernor.peak()).isEqualTo(first);
+    }
+
+    @Test
+    void sizeOf() {
+        assertThat(HeapGovernor.sizeOf(List.of(Path.of("src/test/resources/files/games.yaml"), Path.of("does/not/exist.yaml")))).isPositive();
+        assertThat(HeapGovernor.sizeOf(List.of())).isZero();
+    }
+}
@@ -0,0 +1,35 @@
+package berlin.yuna.apidoccrafter.logic;
+
+import berlin.yuna.apidoccrafter.config.Identifier;
+import io.swagger.v3.oas.models.parameters.QueryParameter;
+import io.swagger.v3.oas.models.tags.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdentifierTest {
+
+    @Test
+    void sessionCachesKeysUntilForgotten() {
+        final Tag tag = new Tag().name("Pets");
+        assertThat(Identifier.getKeys(tag)).isNotSameAs(Identifier.getKeys(tag)).containsExactly("pets", null);
+
+        Identifier.session(() -> {
+            final String[] keys = Identifier.getKeys(tag);
+            assertThat(Identifier.getKeys(tag)).isSameAs(keys);
+
+            tag.description("Animals");
+            Identifier.forget(tag);
+            assertThat(Identifier.getKeys(tag)).containsExactly("pets", "animals");
+            return Identifier.session(() -> assertThat(Identifier.getKeys(tag)).isSameAs(Identifier.getKeys(tag)));
+        });
+        assertThat(Identifier.getKeys(tag)).isNotSameAs(Identifier.getKeys(tag));
+    }
+
+    @Test
+    void getKeysResolvesSubclasses() {
+        assertThat(Identifier.getKeys(new QueryParameter().name("Limit"))).startsWith("limit");
+        assertThat(Identifier.getKeys(new Object())).isNull();
+        assertThat(Identifier.getKeys(null)).isNull();
+    }
+}
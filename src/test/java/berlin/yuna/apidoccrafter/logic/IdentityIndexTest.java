@@ -0,0 +1,60 @@
+package berlin.yuna.apidoccrafter.logic;
+
+import berlin.yuna.apidoccrafter.config.Identifier;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.tags.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdentityIndexTest {
+
+    @Test
+    void findsFirstEqualElementLikeLinearScan() {
+        final Random random = new Random(42);
+        final List<Object> items = new ArrayList<>();
+        for (int i = 0; i < 300; i++)
+            items.add(randomItem(random));
+        final IdentityIndex<Object> index = new IdentityIndex<>(items, item -> item);
+
+        for (int i = 0; i < 500; i++) {
+            final Object other = randomItem(random);
+            assertThat(index.find(other)).as("lookup [%s]", other).isEqualTo(linearScan(items, other));
+        }
+    }
+
+    @Test
+    void refreshIndexesMergedKeys() {
+        final Tag tag = new Tag();
+        final List<Object> items = List.of(new Tag().name("a").description("x"), tag);
+        final IdentityIndex<Object> index = new IdentityIndex<>(items, item -> item);
+        assertThat(index.find(new Tag().name("b").description("y"))).isEqualTo(-1);
+
+        tag.name("b");
+        index.refresh(1);
+        assertThat(index.find(new Tag().name("b").description("y"))).isEqualTo(1);
+        assertThat(index.find("A")).isZero();
+        assertThat(index.find(null)).isEqualTo(-1);
+    }
+
+    private static int linearScan(final List<Object> items, final Object other) {
+        for (int i = 0; i < items.size(); i++)
+            if (Identifier.isEqual(items.get(i), other))
+                return i;
+        return -1;
+    }
+
+    private static Object randomItem(final Random random) {
+        return switch (random.nextInt(4)) {
+            case 0 -> "name" + random.nextInt(100);
+            case 1 -> new Tag().name("name" + random.nextInt(100)).description(random.nextBoolean() ? null : "desc" + random.nextInt(50));
+            case 2 -> new Parameter().name("p" + random.nextInt(100)).in("query").description(random.nextBoolean() ? null : "desc" + random.nextInt(50));
+            default -> new Schema<>().name("s" + random.nextInt(100)).$id(random.nextInt(3) == 0 ? null : "id" + random.nextInt(100)).title(random.nextBoolean() ? null : "t" + random.nextInt(20));
+        };
+    }
+}
@@ -0,0 +1,69 @@
+package berlin.yuna.apidoccrafter.logic;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static berlin.yuna.apidoccrafter.config.Config.ENCODING;
+import static berlin.yuna.apidoccrafter.config.Config.config;
+import static berlin.yuna.apidoccrafter.config.Config.refreshSettings;
+import static berlin.yuna.apidoccrafter.util.Util.safeJsonMapper;
+import static berlin.yuna.apidoccrafter.util.Util.sha256;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParseCacheTest {
+
+    private static final Path FILES = Path.of("src/test/resources/files");
+
+    @Test
+    void writeAndReadEntry(@TempDir final Path cacheDir) throws Exception {
+        final Path file = FILES.resolve("games.yaml");
+        final Processor.ParseResult parsed = Processor.parseStrict(Processor.parserStrategies(false), Processor.SourceFile.read(file)).orElseThrow();
+        final String key = ParseCache.key(sha256(Files.readAllBytes(file)), "strict");
+        ParseCache.resetCounters();
+
+        assertThat(ParseCache.read(cacheDir, key, file)).isEmpty();
+        ParseCache.write(cacheDir, key, parsed);
+        assertThat(ParseCache.read(cacheDir, key, file)).hasValueSatisfying(cached -> {
+            assertThat(cached.parserName()).isEqualTo("cache." + parsed.parserName());
+            assertThat(cached.score()).isEqualTo(parsed.score());
+            final JsonNode expected = safeJsonMapper.valueToTree(parsed.api());
+            assertThat((JsonNode) safeJsonMapper.valueToTree(cached.api())).isEqualTo(expected);
+        });
+        assertThat(ParseCache.key(sha256(Files.readAllBytes(file)), "cascade")).isNotEqualTo(key);
+        assertThat(ParseCache.hits()).isEqualTo(1);
+        assertThat(ParseCache.misses()).isEqualTo(1);
+
+        assertThat(ParseCache.evict(cacheDir, Long.MAX_VALUE)).isZero();
+        assertThat(ParseCache.evict(cacheDir, 0)).isEqualTo(1);
+        assertThat(ParseCache.read(cacheDir, key, file)).isEmpty();
+    }
+
+    @Test
+    void keyUsesFileBytesAndToolVersion() throws Exception {
+        final Path file = FILES.resolve("games.yaml");
+        final Processor.SourceFile source = Processor.SourceFile.read(file);
+
+        assertThat(source.sha256()).isEqualTo(sha256(Files.readAllBytes(file)));
+        assertThat(source.clean().sha256()).isNull();
+        assertThat(ParseCache.toolVersion()).isNotBlank().doesNotContain("${").isEqualTo(ParseCache.toolVersion());
+    }
+
+    @Test
+    void keyChangesWithFileEncoding() {
+        final String defaultKey = Processor.strategyKey(false, null);
+        try {
+            config().put(ENCODING, "ISO-8859-1");
+            refreshSettings();
+
+            assertThat(Processor.strategyKey(false, null)).startsWith("ISO-8859-1:").isNotEqualTo(defaultKey);
+            assertThat(ParseCache.key("hash", Processor.strategyKey(false, null))).isNotEqualTo(ParseCache.key("hash", defaultKey));
+        } finally {
+            config().remove(ENCODING);
+            refreshSettings();
+        }
+    }
+}
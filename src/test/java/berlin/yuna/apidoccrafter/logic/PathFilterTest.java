@@ -0,0 +1,64 @@
+package berlin.yuna.apidoccrafter.logic;
+
+import berlin.yuna.apidoccrafter.util.PathFilter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static berlin.yuna.apidoccrafter.util.Util.matchesGlob;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PathFilterTest {
+
+    @Test
+    void walkMatchesFilteredFullWalk(@TempDir final Path dir) throws IOException {
+        for (final String file : List.of("api.yaml", "src/main/api.json", "src/docs/v1/pets.yml", "target/api.yaml", "node_modules/lib/api.yaml", ".git/objects/x.json", "files/a/store.yaml"))
+            write(dir.resolve(file));
+        final String root = dir.toString();
+        final List<String[]> filters = List.of(
+            new String[]{null, null},
+            new String[]{"**/files/**||**/src/**", null},
+            new String[]{root + "/src/**", "**/v1/**"},
+            new String[]{root + "/*.yaml|" + root + "/src/*/*.json", null},
+            new String[]{null, "**/node_modules/**::**/.git/**::" + root + "/target/**"},
+            new String[]{root + "/{src,files}/**", "**/*.yml"},
+            new String[]{"", null},
+            new String[]{"**/*.yaml|x(", "x(|**/target/**"}
+        );
+        for (final String[] filter : filters)
+            for (final int maxDeep : List.of(1, 2, 100))
+                assertThat(PathFilter.of(filter[0], filter[1]).walk(dir, maxDeep)).as("includes [%s] excludes [%s] maxDeep [%s]", filter[0], filter[1], maxDeep).isEqualTo(fullWalk(dir, maxDeep, filter[0], filter[1]));
+    }
+
+    @Test
+    void prunesDirectoriesWithoutPossibleMatch(@TempDir final Path dir) {
+        final String root = dir.toString();
+        assertThat(PathFilter.of(root + "/src/**", null).isPruned(dir.resolve("node_modules"))).isTrue();
+        assertThat(PathFilter.of(root + "/src/**", null).isPruned(dir.resolve("src/main"))).isFalse();
+        assertThat(PathFilter.of(root + "/src/*.yaml", null).isPruned(dir.resolve("src/main"))).isTrue();
+        assertThat(PathFilter.of("**/files/**", null).isPruned(dir.resolve("node_modules"))).isFalse();
+        assertThat(PathFilter.of(null, "**/node_modules/**").isPruned(dir.resolve("a/node_modules"))).isTrue();
+        assertThat(PathFilter.of(null, "**/node_modules/**").isPruned(dir.resolve("a/node"))).isFalse();
+    }
+
+    // the former walk of Processor.readOpenApiFiles
+    private static List<Path> fullWalk(final Path dir, final int maxDeep, final String includes, final String excludes) throws IOException {
+        try (final Stream<Path> files = Files.walk(dir, maxDeep)) {
+            return files.sorted()
+                .filter(Files::isRegularFile)
+                .filter(path -> includes == null || matchesGlob(path, includes))
+                .filter(path -> excludes == null || !matchesGlob(path, excludes))
+                .toList();
+        }
+    }
+
+    private static void write(final Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "openapi: 3.0.1");
+    }
+}
@@ -0,0 +1,330 @@
+package berlin.yuna.apidoccrafter.logic;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.tags.Tag;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static berlin.yuna.apidoccrafter.config.Config.MERGE_THREADS;
+import static berlin.yuna.apidoccrafter.config.Config.MERGE_TREE_THRESHOLD;
+import static berlin.yuna.apidoccrafter.config.Config.PARSE_EXECUTOR;
+import static berlin.yuna.apidoccrafter.config.Config.PARSE_EXECUTOR_POOL;
+import static berlin.yuna.apidoccrafter.config.Config.PARSE_THREADS;
+import static berlin.yuna.apidoccrafter.config.Config.PARSER_REPORT;
+import static berlin.yuna.apidoccrafter.config.Config.PRUNE_BEFORE_MERGE;
+import static berlin.yuna.apidoccrafter.config.Config.REMOVE_PATTERNS;
+import static berlin.yuna.apidoccrafter.config.Config.SNIFF_FILES;
+import static berlin.yuna.apidoccrafter.config.Config.SORT_DEFERRED;
+import static berlin.yuna.apidoccrafter.config.Config.config;
+import static berlin.yuna.apidoccrafter.config.Config.refreshSettings;
+import static berlin.yuna.apidoccrafter.util.Util.safeJsonMapper;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProcessorTest {
+
+    private static final Path FILES = Path.of("src/test/resources/files");
+
+    @Test
+    void cascadeAcceptsFirstCompleteResult() throws IOException {
+        final List<Processor.ParserStrategy> strategies = Processor.parserStrategies(true);
+
+        assertThat(Processor.parseCascade(strategies, Processor.SourceFile.read(FILES.resolve("games.yaml")), Set.of("info", "paths")))
+            .hasValueSatisfying(result -> assertThat(result.parserName()).isEqualTo(OpenAPIV3Parser.class.getSimpleName()));
+        assertThat(Processor.parseCascade(strategies, Processor.SourceFile.read(FILES.resolve("invalid.json")), Set.of("info", "paths"))).isEmpty();
+    }
+
+    @Test
+    void cascadeEscalatesToBestResult() throws IOException {
+        final List<Processor.ParserStrategy> strategies = Processor.parserStrategies(false);
+        final Processor.SourceFile source = Processor.SourceFile.read(FILES.resolve("games.yaml"));
+
+        assertThat(Processor.parseCascade(strategies, source, Set.of("webhooks")))
+            .hasValueSatisfying(result -> assertThat(result.score()).isEqualTo(Processor.parseStrict(strategies, source).orElseThrow().score()));
+    }
+
+    @Test
+    void abandonStrategiesExceedingTheBudget() throws Exception {
+        final Processor.SourceFile source = Processor.SourceFile.read(FILES.resolve("games.yaml"));
+        final List<Processor.ParserStrategy> strategies = new ArrayList<>();
+        strategies.add(new Processor.ParserStrategy("stuck", false, s -> {
+            Thread.sleep(60_000);
+            return null;
+        }));
+        strategies.addAll(Processor.parserStrategies(false));
+        // warm up the parsers, class loading alone can exceed the strategy budget
+        assertThat(Processor.parseStrict(Processor.parserStrategies(false), source)).isPresent();
+
+        final ParseBudget strategyBudget = ParseBudget.of(null, Duration.ofSeconds(2));
+        assertThat(Processor.parseCascade(strategies, source, Set.of("info", "paths"), strategyBudget))
+            .hasValueSatisfying(result -> assertThat(result.parserName()).isEqualTo(OpenAPIV3Parser.class.getSimpleName()));
+        assertThat(strategyBudget.timedOut()).isTrue();
+
+        final ParseBudget fileBudget = ParseBudget.of(Duration.ofMillis(1), null);
+        Thread.sleep(10);
+        assertThat(Processor.parseStrict(strategies, source, fileBudget)).isEmpty();
+        assertThat(fileBudget.timedOut()).isTrue();
+        assertThat(ParseBudget.unlimited().isLimited()).isFalse();
+    }
+
+    @Test
+    void budgetIsDoneWhenAbandonedStrategiesFinish() throws Exception {
+        final Processor.SourceFile source = Processor.SourceFile.read(FILES.resolve("games.yaml"));
+        final Semaphore stuck = new Semaphore(0);
+        final CountDownLatch done = new CountDownLatch(1);
+        final ParseBudget budget = ParseBudget.of(null, Duration.ofMillis(50));
+        assertThat(budget.run("stuck", source, () -> {
+            stuck.acquireUninterruptibly();
+            return null;
+        })).isNull();
+        assertThat(budget.timedOut()).isTrue();
+
+        budget.whenDone(done::countDown);
+        assertThat(done.await(200, TimeUnit.MILLISECONDS)).isFalse();
+        stuck.release();
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+
+        final CountDownLatch unlimited = new CountDownLatch(1);
+        ParseBudget.unlimited().whenDone(unlimited::countDown);
+        assertThat(unlimited.getCount()).isZero();
+    }
+
+    @Test
+    void readOpenApiFilesKeepsSortedOrderOnAllExecutors() {
+        final Map<Path, OpenAPI> virtual = Processor.readOpenApiFiles(FILES, false, 1, null, null);
+        try {
+            config().put(PARSE_EXECUTOR, PARSE_EXECUTOR_POOL);
+            config().put(PARSE_THREADS, 2);
+            final Map<Path, OpenAPI> pool = Processor.readOpenApiFiles(FILES, false, 1, null, null);
+
+            assertThat(virtual).isNotEmpty();
+            assertThat(List.copyOf(pool.keySet())).containsExactlyElementsOf(virtual.keySet()).isSorted();
+        } finally {
+            config().remove(PARSE_EXECUTOR);
+            config().remove(PARSE_THREADS);
+        }
+    }
+
+    @Test
+    void parallelGroupMergeMatchesSequentialMerge() throws IOException {
+        final Map<Path, OpenAPI> files = Processor.readOpenApiFiles(FILES, false, 1, null, null);
+        try {
+            config().put(MERGE_THREADS, 1);
+            final Map<Path, OpenAPI> sequential = Processor.mergeApis(Processor.groupFiles(files, (String) null, false));
+            config().put(MERGE_THREADS, 4);
+            final Map<Path, OpenAPI> parallel = Processor.mergeApis(Processor.groupFiles(Processor.readOpenApiFiles(FILES, false, 1, null, null), (String) null, false));
+
+            assertThat(sequential).hasSizeGreaterThan(1);
+            assertThat(List.copyOf(parallel.keySet())).containsExactlyElementsOf(sequential.keySet()).isSorted();
+            assertThat(safeJsonMapper.writeValueAsString(parallel.values())).isEqualTo(safeJsonMapper.writeValueAsString(sequential.values()));
+        } finally {
+            config().remove(MERGE_THREADS);
+        }
+    }
+
+    @Test
+    void treeMergeMatchesSequentialFold() throws IOException {
+        final OpenAPI fold = Processor.mergeApis(Processor.readOpenApiFiles(FILES, false, 1, null, null)).getValue();
+        try {
+            config().put(MERGE_TREE_THRESHOLD, 2);
+            final Map<Path, OpenAPI> files = Processor.readOpenApiFiles(FILES, false, 1, null, null);
+            final OpenAPI tree = Processor.mergeApis(files).getValue();
+
+            assertThat(files).hasSizeGreaterThan(4);
+            assertThat(safeJsonMapper.writeValueAsString(tree)).isEqualTo(safeJsonMapper.writeValueAsString(fold));
+        } finally {
+            config().remove(MERGE_TREE_THRESHOLD);
+        }
+    }
+
+    @Test
+    void pruneBeforeMergeMatchesPerStepFiltering() throws IOException {
+        try {
+            config().put(REMOVE_PATTERNS, "store|*order*");
+            refreshSettings();
+            final OpenAPI perStep = Processor.mergeApis(petstore()).getValue();
+            config().put(PRUNE_BEFORE_MERGE, true);
+            refreshSettings();
+            final OpenAPI pruned = Processor.mergeApis(petstore()).getValue();
+
+            assertThat(pruned.getPaths().keySet()).isNotEmpty().noneMatch(path -> path.contains("order"));
+            assertThat(safeJsonMapper.writeValueAsString(pruned)).isEqualTo(safeJsonMapper.writeValueAsString(perStep));
+        } finally {
+            config().remove(REMOVE_PATTERNS);
+            config().remove(PRUNE_BEFORE_MERGE);
+            refreshSettings();
+        }
+    }
+
+    @Test
+    void deferredSortIsDeterministicAndFullySorted() throws IOException {
+        final OpenAPI eager = Processor.mergeApis(petstore()).getValue();
+        try {
+            config().put(SORT_DEFERRED, true);
+            refreshSettings();
+            final OpenAPI deferred = Processor.mergeApis(petstore()).getValue();
+            final OpenAPI again = Processor.mergeApis(petstore()).getValue();
+
+            assertThat(List.copyOf(deferred.getPaths().keySet())).isSorted();
+            assertThat(safeJsonMapper.writeValueAsString(again)).isEqualTo(safeJsonMapper.writeValueAsString(deferred));
+            // not byte identical to eager sorting, which leaves containers untouched by a merge step in input order
+            assertThat(safeJsonMapper.writeValueAsString(deferred)).isEqualTo(safeJsonMapper.writeValueAsString(Merger.sortMerged(eager)));
+        } finally {
+            config().remove(SORT_DEFERRED);
+            refreshSettings();
+        }
+    }
+
+    @Test
+    void normalizeSortsAndFiltersNestedValues() {
+        final Schema<Object> item = new ObjectSchema().addProperty("name", new StringSchema()).addProperty("id", new StringSchema());
+        final OpenAPI api = new OpenAPI()
+            .tags(new ArrayList<>(List.of(new Tag().name("pets"), new Tag().name("items"))))
+            .paths(new Paths()
+                .addPathItem("/orders", new PathItem().get(new Operation().tags(new ArrayList<>(List.of("store")))))
+                .addPathItem("/pets", new PathItem().get(new Operation().tags(new ArrayList<>(List.of("pets", "items")))))
+                .addPathItem("/items", new PathItem().get(new Operation().tags(new ArrayList<>(List.of("items"))))))
+            .components(new Components().addSchemas("Item", item));
+        try {
+            config().put(REMOVE_PATTERNS, "store");
+            refreshSettings();
+
+            assertThat(Merger.normalize(api)).isSameAs(api);
+            assertThat(api.getTags()).extracting(Tag::getName).containsExactly("items", "pets");
+            assertThat(api.getPaths().keySet()).containsExactly("/items", "/pets");
+            assertThat(api.getPaths().get("/pets").getGet().getTags()).containsExactly("items", "pets");
+            assertThat(item.getProperties().keySet()).containsExactly("id", "name");
+        } finally {
+            config().remove(REMOVE_PATTERNS);
+            refreshSettings();
+        }
+    }
+
+    @Test
+    void newValuesAreNormalizedWithoutSelfMerge() {
+        final Parameter limit = new Parameter().name("limit").in("query");
+        final Parameter offset = new Parameter().name("offset").in("query").description("Offset of the first item");
+        final OpenAPI api = new OpenAPI().paths(new Paths().addPathItem("/items", new PathItem().get(new Operation().parameters(new ArrayList<>(List.of(limit, offset))))));
+
+        final OpenAPI result = Processor.mergeApis(Map.of(Path.of("items.yaml"), api)).getValue();
+
+        assertThat(result.getPaths().get("/items").getGet().getParameters()).extracting(Parameter::getName).containsExactly("limit", "offset");
+        assertThat(limit.getDescription()).isNull();
+    }
+
+    @Test
+    void cleanSourceFileInMemory() {
+        final Processor.SourceFile source = new Processor.SourceFile(Path.of("test.yaml"), "# comment\n---\nswagger: \"2.0\"\r\n  // comment\rinfo: {}\n\n\t#\n/ no comment\n");
+
+        assertThat(source.clean().content()).isEqualTo("openapi: 3.0.1\ninfo: {}\n\n/ no comment\n");
+        assertThat(source.clean().path()).isEqualTo(source.path());
+    }
+
+    @Test
+    void readSwaggerWithExternalRefsFromMemory(@TempDir final Path dir) throws IOException {
+        Files.writeString(dir.resolve("common.yaml"), "definitions:\n  Error:\n    type: object\n    properties:\n      code:\n        type: integer\n");
+        // the main file only exists in memory, relative refs resolve against its location
+        final Processor.SourceFile source = new Processor.SourceFile(dir.resolve("api.yaml"), """
+            swagger: "2.0"
+            info: {title: Memory, version: "1"}
+            paths:
+              /error:
+                get:
+                  responses:
+                    "500":
+                      description: failure
+                      schema: {$ref: "common.yaml#/definitions/Error"}
+            """);
+        assertThat(source.hasExternalRefs()).isTrue();
+        final ParseOptions options = new ParseOptions();
+        options.setResolve(true);
+        final OpenAPI api = Processor.readContents(source, options);
+        assertThat(api).isNotNull();
+        assertThat(api.getInfo().getTitle()).isEqualTo("Memory");
+        assertThat(api.getComponents().getSchemas()).containsKey("Error");
+        assertThat(Files.exists(dir.resolve("api.yaml"))).isFalse();
+        // non API content is neither converted nor written next to the file
+        assertThat(Processor.readContents(new Processor.SourceFile(dir.resolve("ci.yaml"), "jobs: {build: {ref: \"common.yaml#/x\"}}\n"), options)).isNull();
+        try (final var files = Files.list(dir)) {
+            assertThat(files).containsExactly(dir.resolve("common.yaml"));
+        }
+    }
+
+    @Test
+    void sniffFilesSkipsFragmentsOnlyIfEnabled(@TempDir final Path dir) throws IOException {
+        final Path fragment = Files.writeString(dir.resolve("fragment.yaml"), """
+            info: {title: Fragment, version: "1"}
+            paths:
+              /ping:
+                get:
+                  responses:
+                    "200": {description: pong}
+            """);
+        assertThat(ApiSniffer.sniff(Files.readString(fragment))).isEmpty();
+        assertThat(Processor.parseCached(true, fragment)).hasValueSatisfying(result -> assertThat(result.api().getPaths()).containsKey("/ping"));
+        try {
+            config().put(SNIFF_FILES, true);
+            assertThat(Processor.parseCached(true, fragment)).isEmpty();
+        } finally {
+            config().remove(SNIFF_FILES);
+        }
+    }
+
+    @Test
+    void sniffOnlyIfTheSpecIsUsed(@TempDir final Path dir) throws IOException {
+        final Path file = FILES.resolve("games.yaml");
+        try {
+            StrategyStats.reset();
+            assertThat(Processor.parseCached(false, file)).isPresent();
+            config().put(PARSER_REPORT, true);
+            assertThat(Processor.parseCached(false, file)).isPresent();
+            StrategyStats.writeReport(dir);
+
+            assertThat(safeJsonMapper.readTree(dir.resolve(StrategyStats.REPORT_FILE).toFile()).path("files").findValuesAsText("spec")).containsExactlyInAnyOrder("unknown", "yaml/3");
+        } finally {
+            config().remove(PARSER_REPORT);
+            StrategyStats.reset();
+        }
+    }
+
+    @Test
+    void isComplete() {
+        final OpenAPI api = new OpenAPI().info(new Info().title("test"));
+
+        assertThat(Processor.isComplete(api, Set.of("info"))).isTrue();
+        assertThat(Processor.isComplete(api, Set.of("info", "paths"))).isFalse();
+        assertThat(Processor.isComplete(api.paths(new Paths()), Set.of("info", "paths"))).isFalse();
+        assertThat(Processor.isComplete(api, Set.of("unknown"))).isTrue();
+        assertThat(Processor.isComplete(null, Set.of())).isFalse();
+    }
+
+    private static Map<Path, OpenAPI> petstore() throws IOException {
+        final Map<Path, OpenAPI> result = new TreeMap<>();
+        for (final String file : List.of("petstore_part1.json", "petstore_part2.json"))
+            result.put(FILES.resolve(file), Processor.parseStrict(Processor.parserStrategies(false), Processor.SourceFile.read(FILES.resolve(file))).orElseThrow().api());
+        return result;
+    }
+}
@@ -0,0 +1,76 @@
+package berlin.yuna.apidoccrafter.logic;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.Discriminator;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SchemaDeduplicatorTest {
+
+    @Test
+    void collapsesIdenticalSchemasAndRewritesRefs() {
+        final OpenAPI openAPI = new OpenAPI()
+            .paths(new Paths()
+                .addPathItem("/a", new PathItem().get(operation("#/components/schemas/ResponseA")))
+                .addPathItem("/b", new PathItem().get(operation("#/components/schemas/ResponseB"))))
+            .components(new Components()
+                .addSchemas("ResponseA", new ObjectSchema().addProperty("error", new Schema<>().$ref("#/components/schemas/ErrorA")))
+                .addSchemas("ResponseB", new ObjectSchema().addProperty("error", new Schema<>().$ref("#/components/schemas/ErrorB")))
+                .addSchemas("ErrorA", new ObjectSchema().description("error").addProperty("code", new IntegerSchema()).addProperty("message", new StringSchema()))
+                .addSchemas("ErrorB", new ObjectSchema().description("error").addProperty("message", new StringSchema()).addProperty("code", new IntegerSchema()))
+                .addSchemas("Money", new ObjectSchema().addProperty("amount", new IntegerSchema()))
+                .addSchemas("Pet", new ObjectSchema().discriminator(new Discriminator().propertyName("type").mapping("a", "ErrorB").mapping("b", "#/components/schemas/ErrorB"))));
+
+        final Map<String, String> duplicates = SchemaDeduplicator.deduplicate(openAPI);
+
+        assertThat(duplicates).containsExactly(Map.entry("ErrorB", "ErrorA"), Map.entry("ResponseB", "ResponseA"));
+        assertThat(openAPI.getComponents().getSchemas()).containsOnlyKeys("ResponseA", "ErrorA", "Money", "Pet");
+        assertThat(responseRef(openAPI, "/b")).isEqualTo("#/components/schemas/ResponseA");
+        assertThat(openAPI.getComponents().getSchemas().get("Pet").getDiscriminator().getMapping()).containsEntry("a", "ErrorA").containsEntry("b", "#/components/schemas/ErrorA");
+    }
+
+    @Test
+    void keepsDifferentSchemas() {
+        final OpenAPI openAPI = new OpenAPI().components(new Components()
+            .addSchemas("A", new ObjectSchema().addProperty("id", new IntegerSchema()))
+            .addSchemas("B", new ObjectSchema().addProperty("id", new StringSchema())));
+
+        assertThat(SchemaDeduplicator.deduplicate(openAPI)).isEmpty();
+        assertThat(openAPI.getComponents().getSchemas()).containsOnlyKeys("A", "B");
+        assertThat(SchemaDeduplicator.deduplicate(new OpenAPI())).isEmpty();
+    }
+
+    @Test
+    void keepsSchemasWithDifferentDescriptions() {
+        final OpenAPI openAPI = new OpenAPI().components(new Components()
+            .addSchemas("ErrorA", new ObjectSchema().description("service a").addProperty("code", new IntegerSchema()))
+            .addSchemas("ErrorB", new ObjectSchema().description("service b").addProperty("code", new IntegerSchema())));
+
+        assertThat(SchemaDeduplicator.deduplicate(openAPI)).isEmpty();
+        assertThat(openAPI.getComponents().getSchemas()).containsOnlyKeys("ErrorA", "ErrorB");
+    }
+
+    private static Operation operation(final String ref) {
+        return new Operation().responses(new ApiResponses().addApiResponse("200", new ApiResponse().description("ok")
+            .content(new Content().addMediaType("application/json", new MediaType().schema(new Schema<>().$ref(ref))))));
+    }
+
+    private static String responseRef(final OpenAPI openAPI, final String path) {
+        return openAPI.getPaths().get(path).getGet().getResponses().get("200").getContent().get("application/json").getSchema().get$ref();
+    }
+}
@@ -0,0 +1,56 @@
+package berlin.yuna.apidoccrafter.logic;
+
+import berlin.yuna.apidoccrafter.config.Config;
+import berlin.yuna.apidoccrafter.config.Settings;
+import berlin.yuna.typemap.model.TypeMap;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static berlin.yuna.apidoccrafter.config.Config.ENCODING;
+import static berlin.yuna.apidoccrafter.config.Config.PRUNE_BEFORE_MERGE;
+import static berlin.yuna.apidoccrafter.config.Config.REMOVE_PATTERNS;
+import static berlin.yuna.apidoccrafter.config.Config.SORT_DEFERRED;
+import static berlin.yuna.apidoccrafter.config.Config.SORT_PATHS;
+import static berlin.yuna.apidoccrafter.config.Config.SORT_TAGS;
+import static berlin.yuna.apidoccrafter.config.Config.config;
+import static berlin.yuna.apidoccrafter.config.Config.refreshSettings;
+import static berlin.yuna.apidoccrafter.config.Config.settings;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SettingsTest {
+
+    @Test
+    void parsesConfigOnce() {
+        final TypeMap config = new TypeMap();
+        config.put(SORT_TAGS, "None");
+        config.put(SORT_PATHS, false);
+        config.put(SORT_DEFERRED, true);
+        config.put(PRUNE_BEFORE_MERGE, true);
+        config.put(REMOVE_PATTERNS, " Internal*|Management ");
+        config.put(ENCODING, "iso-8859-1");
+
+        final Settings settings = Settings.of(config);
+        assertThat(settings.sortBy(SORT_TAGS)).isNull();
+        assertThat(settings.sortBy(SORT_PATHS)).isFalse();
+        assertThat(settings.sortBy(Config.SORT_SCHEMAS)).isTrue();
+        assertThat(settings.sortDeferred()).isTrue();
+        assertThat(settings.pruneBeforeMerge()).isTrue();
+        assertThat(settings.removePattern()).isEqualTo("internal*|management");
+        assertThat(settings.removeGlob().matches("Internal-API")).isTrue();
+        assertThat(settings.encoding()).isEqualTo(StandardCharsets.ISO_8859_1);
+    }
+
+    @Test
+    void snapshotChangesOnlyOnRefresh() {
+        final Settings before = refreshSettings();
+        try {
+            config().put(PRUNE_BEFORE_MERGE, !before.pruneBeforeMerge());
+            assertThat(settings()).isSameAs(before);
+            assertThat(refreshSettings().pruneBeforeMerge()).isNotEqualTo(before.pruneBeforeMerge());
+        } finally {
+            config().remove(PRUNE_BEFORE_MERGE);
+            refreshSettings();
+        }
+    }
+}
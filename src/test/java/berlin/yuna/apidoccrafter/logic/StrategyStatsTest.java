@@ -0,0 +1,86 @@
+package berlin.yuna.apidoccrafter.logic;
+
+import berlin.yuna.apidoccrafter.logic.StrategyStats.Attempt;
+import berlin.yuna.apidoccrafter.logic.StrategyStats.Outcome;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static berlin.yuna.apidoccrafter.util.Util.safeJsonMapper;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StrategyStatsTest {
+
+    @AfterEach
+    void tearDown() {
+        StrategyStats.reset();
+    }
+
+    @Test
+    void adaptiveOrderPrefersWinners(@TempDir final Path dir) throws IOException {
+        final List<Processor.ParserStrategy> strategies = Processor.parserStrategies(false);
+        final String first = strategies.getFirst().name();
+        final String last = strategies.getLast().name();
+        StrategyStats.reset();
+        StrategyStats.record(Path.of("a.yaml"), "yaml/3", List.of(
+            new Attempt(first, 100, 0, Outcome.FAILED),
+            new Attempt(last, 200, 42, Outcome.OK)
+        ), new Processor.ParseResult(last, Path.of("a.yaml"), new OpenAPI(), 42));
+
+        // wins of the current run do not change the order
+        assertThat(StrategyStats.order(strategies, "yaml/3")).isEqualTo(strategies);
+
+        StrategyStats.writeReport(dir);
+        assertThat(Files.readString(dir.resolve(StrategyStats.REPORT_FILE))).contains("\"yaml/3\"", "\"WIN\"", "\"FAILED\"", "\"winRate\"");
+
+        StrategyStats.save(dir);
+        StrategyStats.reset();
+        assertThat(StrategyStats.order(strategies, "yaml/3")).isEqualTo(strategies);
+        StrategyStats.load(dir);
+        assertThat(StrategyStats.order(strategies, "yaml/3").getFirst().name()).isEqualTo(last);
+        assertThat(StrategyStats.order(strategies, "json/2")).isEqualTo(strategies);
+
+        // order stays frozen until the next load
+        StrategyStats.record(Path.of("b.yaml"), "yaml/3", List.of(new Attempt(first, 100, 42, Outcome.OK)), new Processor.ParseResult(first, Path.of("b.yaml"), new OpenAPI(), 42));
+        StrategyStats.record(Path.of("c.yaml"), "yaml/3", List.of(new Attempt(first, 100, 42, Outcome.OK)), new Processor.ParseResult(first, Path.of("c.yaml"), new OpenAPI(), 42));
+        assertThat(StrategyStats.order(strategies, "yaml/3").getFirst().name()).isEqualTo(last);
+    }
+
+    @Test
+    void reportSeparatesCurrentRunFromTotals(@TempDir final Path dir) throws IOException {
+        final List<Processor.ParserStrategy> strategies = Processor.parserStrategies(false);
+        final String first = strategies.getFirst().name();
+        final String last = strategies.getLast().name();
+        StrategyStats.record(Path.of("a.yaml"), "yaml/3", List.of(new Attempt(last, 100, 42, Outcome.OK)), new Processor.ParseResult(last, Path.of("a.yaml"), new OpenAPI(), 42));
+        StrategyStats.writeReport(dir);
+        assertThat(safeJsonMapper.readTree(dir.resolve(StrategyStats.REPORT_FILE).toFile()).has("totals")).isFalse();
+
+        StrategyStats.save(dir);
+        StrategyStats.reset();
+        StrategyStats.load(dir);
+        StrategyStats.record(Path.of("b.yaml"), "yaml/3", List.of(new Attempt(first, 100, 42, Outcome.OK)), new Processor.ParseResult(first, Path.of("b.yaml"), new OpenAPI(), 42));
+        StrategyStats.writeReport(dir);
+
+        final JsonNode report = safeJsonMapper.readTree(dir.resolve(StrategyStats.REPORT_FILE).toFile());
+        assertThat(report.path("strategies").path("yaml/3").path(first).path("wins").asLong()).isEqualTo(1);
+        assertThat(report.path("strategies").path("yaml/3").has(last)).isFalse();
+        assertThat(report.path("totals").path("yaml/3").path(first).path("wins").asLong()).isEqualTo(1);
+        assertThat(report.path("totals").path("yaml/3").path(last).path("wins").asLong()).isEqualTo(1);
+        assertThat(report.path("files")).hasSize(1);
+    }
+
+    @Test
+    void specKey() {
+        assertThat(StrategyStats.specKey(new ApiSniffer.Spec(ApiSniffer.FORMAT_YAML, "3.0.1"))).isEqualTo("yaml/3");
+        assertThat(StrategyStats.specKey(new ApiSniffer.Spec(ApiSniffer.FORMAT_JSON, "2.0"))).isEqualTo("json/2");
+        assertThat(StrategyStats.specKey(new ApiSniffer.Spec(ApiSniffer.FORMAT_JSON, null))).isEqualTo("json/unknown");
+        assertThat(StrategyStats.specKey(null)).isEqualTo("unknown");
+    }
+}